@@ -0,0 +1,72 @@
+package DriverFactory;
+
+import Utilities.LogsUtils;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.v131.browser.model.BrowserContextID;
+import org.openqa.selenium.devtools.v131.target.Target;
+import org.openqa.selenium.devtools.v131.target.model.TargetID;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Incognito-grade isolation inside one long-lived Chromium process: each lease gets its own
+ * CDP browser context (separate cookies, storage and cache) instead of a new browser process.
+ * Enabled with {@code -Ddriver.isolation=context}.
+ */
+class BrowserContextIsolation {
+    private static final Map<WebDriver, IsolatedContext> openContexts = new ConcurrentHashMap<>();
+
+    private BrowserContextIsolation() {
+    }
+
+    static boolean isEnabled() {
+        return "context".equalsIgnoreCase(System.getProperty("driver.isolation", "none"));
+    }
+
+    static boolean supports(WebDriver driver) {
+        return driver instanceof HasDevTools;
+    }
+
+    // Create a fresh browser context with one blank tab and switch the driver into it
+    static void open(WebDriver driver) {
+        if (!supports(driver))
+            throw new IllegalArgumentException("Browser context isolation needs a Chromium driver with DevTools");
+        close(driver);
+
+        DevTools devTools = ((HasDevTools) driver).getDevTools();
+        BrowserContextID contextId = devTools.send(Target.createBrowserContext(
+                Optional.of(true), Optional.empty(), Optional.empty(), Optional.empty()));
+        TargetID targetId = devTools.send(Target.createTarget("about:blank",
+                Optional.empty(), Optional.empty(), Optional.of(contextId),
+                Optional.empty(), Optional.of(false), Optional.empty(), Optional.empty()));
+
+        String previousHandle = driver.getWindowHandle();
+        driver.switchTo().window(targetId.toString());
+        openContexts.put(driver, new IsolatedContext(contextId, previousHandle));
+        LogsUtils.info("Opened isolated browser context " + contextId);
+    }
+
+    // Dispose the context (and every tab in it), then return to the default context's tab
+    static void close(WebDriver driver) {
+        IsolatedContext context = openContexts.remove(driver);
+        if (context == null)
+            return;
+
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.send(Target.disposeBrowserContext(context.contextId()));
+            driver.switchTo().window(context.previousHandle());
+            LogsUtils.info("Disposed isolated browser context " + context.contextId());
+        } catch (WebDriverException e) {
+            LogsUtils.warn("Failed to dispose browser context " + context.contextId() + ": " + e.getMessage());
+        }
+    }
+
+    private record IsolatedContext(BrowserContextID contextId, String previousHandle) {
+    }
+}
@@ -0,0 +1,17 @@
+package DriverFactory;
+
+/**
+ * Resources used by a browser's process tree while a test ran (see {@link DriverFactory#stopResourceSampling}).
+ *
+ * @param cpuMillis     CPU time (user + system) consumed by the driver service and browser processes
+ * @param peakRssKb     highest summed resident memory seen in any sample
+ * @param peakProcesses highest process count seen in any sample
+ * @param samples       number of samples taken; 0 when the tree was not visible (remote or non-Linux)
+ */
+public record BrowserResourceUsage(long cpuMillis, long peakRssKb, int peakProcesses, int samples) {
+
+    public String summary() {
+        return "cpu=" + cpuMillis + "ms, peakRss=" + peakRssKb / 1024 + "MB, peakProcesses=" + peakProcesses
+                + ", samples=" + samples;
+    }
+}
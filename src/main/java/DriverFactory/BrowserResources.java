@@ -0,0 +1,115 @@
+package DriverFactory;
+
+import Utilities.LogsUtils;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the process tree behind a local driver session through /proc (Linux only):
+ * CPU time consumed since sampling started, peak resident memory and peak process count.
+ * Interval is {@code -Ddriver.resources.interval} in milliseconds (default 1000).
+ */
+class BrowserResources {
+    private static final long INTERVAL_MS = Long.getLong("driver.resources.interval", 1000);
+    private static final boolean SUPPORTED = Files.isDirectory(Path.of("/proc/self"));
+
+    private static final Map<WebDriver, Sampling> active = new ConcurrentHashMap<>();
+    private static final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "browser-resources");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private BrowserResources() {
+    }
+
+    static void start(WebDriver driver) {
+        if (!SUPPORTED || driver == null)
+            return;
+        Sampling sampling = new Sampling(driver);
+        sampling.sample();
+        sampling.task = sampler.scheduleAtFixedRate(sampling::sample, INTERVAL_MS, INTERVAL_MS, TimeUnit.MILLISECONDS);
+        Sampling previous = active.put(driver, sampling);
+        if (previous != null)
+            previous.task.cancel(false);
+    }
+
+    static BrowserResourceUsage stop(WebDriver driver) {
+        Sampling sampling = driver == null ? null : active.remove(driver);
+        if (sampling == null)
+            return null;
+        sampling.task.cancel(false);
+        sampling.sample(); // final reading so short tests still get a CPU delta
+        return sampling.usage();
+    }
+
+    private static class Sampling {
+        private final WebDriver driver;
+        private final Map<Long, Long> baselineCpuMillis = new HashMap<>();
+        private final Map<Long, Long> lastCpuMillis = new HashMap<>();
+        private long peakRssKb;
+        private int peakProcesses;
+        private int samples;
+        private ScheduledFuture<?> task;
+
+        Sampling(WebDriver driver) {
+            this.driver = driver;
+        }
+
+        synchronized void sample() {
+            try {
+                List<ProcessHandle> tree = DriverProcesses.processTree(driver);
+                if (tree.isEmpty())
+                    return;
+                long rssKb = 0;
+                for (ProcessHandle process : tree) {
+                    // the JDK converts clock ticks with the kernel's real USER_HZ
+                    Optional<Duration> cpu = process.info().totalCpuDuration();
+                    long rss = rssKb(process.pid());
+                    if (cpu.isEmpty() || rss < 0)
+                        continue; // exited between listing and reading
+                    baselineCpuMillis.putIfAbsent(process.pid(), samples == 0 ? cpu.get().toMillis() : 0L);
+                    lastCpuMillis.put(process.pid(), cpu.get().toMillis());
+                    rssKb += rss;
+                }
+                peakRssKb = Math.max(peakRssKb, rssKb);
+                peakProcesses = Math.max(peakProcesses, tree.size());
+                samples++;
+            } catch (RuntimeException e) {
+                LogsUtils.warn("Browser resource sample failed: " + e.getMessage());
+            }
+        }
+
+        synchronized BrowserResourceUsage usage() {
+            long cpuMillis = 0;
+            for (Map.Entry<Long, Long> entry : lastCpuMillis.entrySet())
+                cpuMillis += entry.getValue() - baselineCpuMillis.getOrDefault(entry.getKey(), 0L);
+            return new BrowserResourceUsage(cpuMillis, peakRssKb, peakProcesses, samples);
+        }
+    }
+
+    // VmRSS from /proc/<pid>/status, already in kB whatever the kernel's page size; -1 when the process is gone
+    private static long rssKb(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status")))
+                if (line.startsWith("VmRSS:"))
+                    return Long.parseLong(line.substring(6).trim().split("\\s+")[0]);
+            return 0; // kernel threads and zombies have no VmRSS line
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+    }
+}
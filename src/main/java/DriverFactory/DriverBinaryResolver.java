@@ -0,0 +1,272 @@
+package DriverFactory;
+
+import Utilities.LogsUtils;
+import Utilities.Utility;
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Resolves driver/browser binaries once per JVM and caches the result in a local manifest,
+ * so later runs (and air-gapped runners) start without any WebDriverManager network lookup.
+ * The installed browser's version is stored with the driver; a different major version re-resolves the driver.
+ * The version is only read again when the browser binary's size or modification time differs from the manifest:
+ * from the version directory next to the binary on Windows (where {@code chrome.exe --version} prints nothing),
+ * otherwise from {@code <browser> --version}. Each launch also records the version the session reports.
+ * <p>
+ * {@code -Ddriver.offline=true} forbids network resolution entirely: the manifest
+ * or an explicit {@code webdriver.*.driver} property must then provide the driver.
+ */
+class DriverBinaryResolver {
+    static final Path MANIFEST_PATH = Path.of(System.getProperty("driver.manifest",
+            Utility.CACHE_PATH + "/drivers/driver-manifest.properties"));
+    private static final boolean OFFLINE = Boolean.getBoolean("driver.offline");
+
+    private static final Pattern VERSION = Pattern.compile("\\d+(\\.\\d+)+");
+
+    private static final Properties manifest = new Properties();
+    private static final Set<String> resolvedBrowsers = new HashSet<>();
+    private static boolean manifestLoaded;
+
+    private DriverBinaryResolver() {
+    }
+
+    static synchronized void resolve(String browser) {
+        String name = browser.toLowerCase();
+        if (resolvedBrowsers.contains(name))
+            return;
+
+        loadManifest();
+        String driverProperty = driverProperty(name);
+
+        // 1. explicit system property wins
+        String explicit = System.getProperty(driverProperty);
+        if (isExecutable(explicit)) {
+            resolvedBrowsers.add(name);
+            return;
+        }
+
+        // 2. cached manifest from an earlier run, as long as the browser has not been updated since
+        String cached = manifest.getProperty(name + ".driver");
+        Optional<String> installed = installedBrowserVersion(name);
+        String cachedBrowser = manifest.getProperty(name + ".browserVersion");
+        boolean browserChanged = installed.isPresent() && cachedBrowser != null
+                && !majorVersion(installed.get()).equals(majorVersion(cachedBrowser));
+        if (isExecutable(cached) && !browserChanged) {
+            rememberBrowser(name, installed);
+            System.setProperty(driverProperty, cached);
+            resolvedBrowsers.add(name);
+            LogsUtils.info("Using cached " + name + " driver " + manifest.getProperty(name + ".version") + " from manifest");
+            return;
+        }
+        if (browserChanged)
+            LogsUtils.info(name + " was updated from " + cachedBrowser + " to " + installed.get() + ", re-resolving its driver");
+
+        if (OFFLINE)
+            throw new IllegalStateException("No cached " + name + " driver in " + MANIFEST_PATH
+                    + " and driver.offline=true. Run once online or set -D" + driverProperty);
+
+        // 3. one network resolution, then persist for later runs
+        WebDriverManager wdm = WebDriverManager.getInstance(name);
+        wdm.setup();
+        manifest.setProperty(name + ".driver", wdm.getDownloadedDriverPath());
+        manifest.setProperty(name + ".version", String.valueOf(wdm.getDownloadedDriverVersion()));
+        wdm.getBrowserPath().ifPresent(path -> manifest.setProperty(name + ".browser", path.toString()));
+        manifest.remove(name + ".browserVersion");
+        manifest.remove(name + ".browserStamp");
+        rememberBrowser(name, installedBrowserVersion(name));
+        System.setProperty(driverProperty, wdm.getDownloadedDriverPath());
+        resolvedBrowsers.add(name);
+        saveManifest();
+        LogsUtils.info("Resolved " + name + " driver " + wdm.getDownloadedDriverVersion() + " and cached it in " + MANIFEST_PATH);
+    }
+
+    /**
+     * Drops the cached driver after the browser refused it (SessionNotCreated, e.g. a browser update the version
+     * check could not see); the next {@link #resolve} goes to the network again. False when there is nothing
+     * cached to drop, so the caller should not retry.
+     */
+    static synchronized boolean invalidate(String browser) {
+        String name = browser.toLowerCase();
+        loadManifest();
+        String cached = manifest.getProperty(name + ".driver");
+        if (OFFLINE || cached == null || !cached.equals(System.getProperty(driverProperty(name))))
+            return false; // explicit -Dwebdriver.*.driver or offline: nothing we may re-resolve
+        manifest.remove(name + ".driver");
+        manifest.remove(name + ".version");
+        manifest.remove(name + ".browserVersion");
+        manifest.remove(name + ".browserStamp");
+        saveManifest();
+        System.clearProperty(driverProperty(name));
+        resolvedBrowsers.remove(name);
+        LogsUtils.warn("Dropped cached " + name + " driver " + cached + " from " + MANIFEST_PATH);
+        return true;
+    }
+
+    /**
+     * Version the browser reported for a new session (capabilities' browserVersion); keeps the manifest right
+     * where the version could not be read from the binary.
+     */
+    static synchronized void recordBrowserVersion(String browser, String version) {
+        String name = browser.toLowerCase();
+        loadManifest();
+        if (version == null || version.isBlank() || manifest.getProperty(name + ".driver") == null
+                || version.equals(manifest.getProperty(name + ".browserVersion")))
+            return;
+        manifest.setProperty(name + ".browserVersion", version);
+        browserStamp(name).ifPresent(stamp -> manifest.setProperty(name + ".browserStamp", stamp));
+        saveManifest();
+    }
+
+    static synchronized Optional<String> browserBinary(String browser) {
+        loadManifest();
+        return Optional.ofNullable(manifest.getProperty(browser.toLowerCase() + ".browser"))
+                .filter(DriverBinaryResolver::isExecutable);
+    }
+
+    private static String driverProperty(String browser) {
+        switch (browser) {
+            case "chrome":
+                return "webdriver.chrome.driver";
+            case "firefox":
+                return "webdriver.gecko.driver";
+            default:
+                return "webdriver.edge.driver";
+        }
+    }
+
+    // Version of the installed browser; empty when it cannot be found or does not tell
+    private static Optional<String> installedBrowserVersion(String browser) {
+        Optional<Path> binary = installedBrowser(browser);
+        if (binary.isEmpty())
+            return Optional.empty();
+        // unchanged binary >> the version cached with it, without starting any process
+        String cachedVersion = manifest.getProperty(browser + ".browserVersion");
+        String cachedStamp = manifest.getProperty(browser + ".browserStamp");
+        if (cachedVersion != null && cachedStamp != null && browserStamp(browser).filter(cachedStamp::equals).isPresent())
+            return Optional.of(cachedVersion);
+        if (System.getProperty("os.name", "").startsWith("Windows"))
+            return versionDirectory(binary.get());
+        return versionFlag(binary.get());
+    }
+
+    private static Optional<Path> installedBrowser(String browser) {
+        return Optional.ofNullable(manifest.getProperty(browser + ".browser"))
+                .filter(DriverBinaryResolver::isExecutable)
+                .map(Path::of)
+                .or(() -> WebDriverManager.getInstance(browser).getBrowserPath());
+    }
+
+    // Size and modification time of the browser binary; an update replaces it
+    private static Optional<String> browserStamp(String browser) {
+        try {
+            Optional<Path> binary = installedBrowser(browser);
+            if (binary.isEmpty())
+                return Optional.empty();
+            return Optional.of(Files.getLastModifiedTime(binary.get()).toMillis() + ":" + Files.size(binary.get()));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    // Chrome and Edge on Windows install next to a "<version>" directory (Application\131.0.6778.86\)
+    private static Optional<String> versionDirectory(Path binary) {
+        Path parent = binary.getParent();
+        if (parent == null)
+            return Optional.empty();
+        try (Stream<Path> entries = Files.list(parent)) {
+            return entries.filter(Files::isDirectory)
+                    .map(entry -> entry.getFileName().toString())
+                    .filter(entry -> VERSION.matcher(entry).matches())
+                    .max(DriverBinaryResolver::compareVersions); // an update in progress leaves the old one too
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    // "<browser> --version"
+    private static Optional<String> versionFlag(Path binary) {
+        try {
+            Process process = new ProcessBuilder(binary.toString(), "--version").redirectErrorStream(true).start();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return Optional.empty();
+            }
+            Matcher version = VERSION.matcher(new String(process.getInputStream().readAllBytes()));
+            return version.find() ? Optional.of(version.group()) : Optional.empty();
+        } catch (IOException e) {
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    // Stores the version found for the binary as it is now, so the next run skips the lookup
+    private static void rememberBrowser(String browser, Optional<String> version) {
+        Optional<String> stamp = browserStamp(browser);
+        if (version.isEmpty() || stamp.isEmpty())
+            return;
+        if (version.get().equals(manifest.getProperty(browser + ".browserVersion"))
+                && stamp.get().equals(manifest.getProperty(browser + ".browserStamp")))
+            return;
+        manifest.setProperty(browser + ".browserVersion", version.get());
+        manifest.setProperty(browser + ".browserStamp", stamp.get());
+        saveManifest();
+    }
+
+    private static int compareVersions(String left, String right) {
+        String[] l = left.split("\\."), r = right.split("\\.");
+        for (int i = 0; i < Math.min(l.length, r.length); i++) {
+            int part = Long.compare(Long.parseLong(l[i]), Long.parseLong(r[i]));
+            if (part != 0)
+                return part;
+        }
+        return Integer.compare(l.length, r.length);
+    }
+
+    private static String majorVersion(String version) {
+        int dot = version.indexOf('.');
+        return dot < 0 ? version : version.substring(0, dot);
+    }
+
+    private static boolean isExecutable(String path) {
+        return path != null && !path.isBlank() && Files.isExecutable(Path.of(path));
+    }
+
+    private static void loadManifest() {
+        if (manifestLoaded)
+            return;
+        manifestLoaded = true;
+        if (!Files.exists(MANIFEST_PATH))
+            return;
+        try (InputStream in = Files.newInputStream(MANIFEST_PATH)) {
+            manifest.load(in);
+        } catch (IOException e) {
+            LogsUtils.warn("Failed to read driver manifest: " + e.getMessage());
+        }
+    }
+
+    private static void saveManifest() {
+        try {
+            Files.createDirectories(MANIFEST_PATH.getParent());
+            try (OutputStream out = Files.newOutputStream(MANIFEST_PATH)) {
+                manifest.store(out, "Resolved driver binaries");
+            }
+        } catch (IOException e) {
+            LogsUtils.warn("Failed to write driver manifest: " + e.getMessage());
+        }
+    }
+}
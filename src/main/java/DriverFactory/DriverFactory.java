@@ -1,41 +1,214 @@
 package DriverFactory;
 
+import Utilities.CommandStats;
+import Utilities.LogsUtils;
+import Utilities.NetworkIdle;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.SessionNotCreatedException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.http.ClientConfig;
+
+import java.util.Optional;
 
 public class DriverFactory {
     private static final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
+    // full-fidelity (headless, full page load, 1920x1080) unless -Dbrowser.profile picks another; debug is opt-in
+    private static final String PROFILE_PROPERTY = System.getProperty("browser.profile");
+    private static final LaunchProfile DEFAULT_PROFILE = PROFILE_PROPERTY == null
+            ? LaunchProfile.FULL_FIDELITY : LaunchProfile.fromName(PROFILE_PROPERTY);
+    // Per thread, so parallel <test> tags with different browser.profile parameters do not race
+    private static final ThreadLocal<LaunchProfile> threadProfile = new ThreadLocal<>();
 
+    // Active launch profile: the suite's or -Dbrowser.profile, otherwise full-fidelity
     public static void setupDriver(String browser) //Edge edge EDGE
     {
-        switch (browser.toLowerCase())
-        {
-            case "chrome":
-                ChromeOptions chromeOptions = new ChromeOptions();
-                chromeOptions.addArguments("--start-maximized");
-                driverThreadLocal.set(new ChromeDriver(chromeOptions));
-                break;
-            case "firefox":
-                driverThreadLocal.set(new FirefoxDriver());
-                break;
-            default:
-                EdgeOptions options = new EdgeOptions();
-                options.addArguments("--start-maximized");
-                driverThreadLocal.set(new EdgeDriver(options));
-        }
+        LaunchProfile profile = getProfile();
+        driverThreadLocal.set(lease(browser, profile.options(browser), profile));
+    }
 
+    public static void setupDriver(String browser, MutableCapabilities options) {
+        driverThreadLocal.set(leaseDriver(browser, options));
     }
+
     public static WebDriver getDriver()
     {
         return driverThreadLocal.get();
     }
+
     public static void quitDriver()
     {
-        getDriver().quit();
+        returnDriver(getDriver());
         driverThreadLocal.remove();
     }
-}
\ No newline at end of file
+
+    // Launch profile for drivers leased on this thread (suite parameter "browser.profile", set per test method thread)
+    public static void useProfile(String profileName) {
+        threadProfile.set(LaunchProfile.fromName(profileName));
+    }
+
+    public static LaunchProfile getProfile() {
+        LaunchProfile profile = threadProfile.get();
+        return profile != null ? profile : DEFAULT_PROFILE;
+    }
+
+    // Lease a warm browser launched with this thread's profile
+    public static WebDriver leaseDriver(String browser) {
+        LaunchProfile profile = getProfile();
+        return lease(browser, profile.options(browser), profile);
+    }
+
+    // Lease a warm browser from the pool (launches one if none is idle); custom options count against no profile
+    public static WebDriver leaseDriver(String browser, MutableCapabilities options) {
+        return lease(browser, options, null);
+    }
+
+    // Hand the browser back to the pool; it is reset instead of quit
+    public static void returnDriver(WebDriver driver) {
+        if (driver != null) {
+            NetworkIdle.stop(driver);
+            BrowserContextIsolation.close(driver);
+        }
+        DriverPool.release(driver);
+    }
+
+    // Cheap liveness check; a hung or crashed browser is killed and replaced by a fresh leased one
+    public static WebDriver ensureHealthy(WebDriver driver) {
+        if (GridProvider.isEnabled()) // the grid reaps its own dead sessions
+            return driver;
+        DriverWatchdog.Health health = DriverWatchdog.isKilled(driver) ? DriverWatchdog.Health.CRASHED : DriverWatchdog.probe(driver);
+        if (health == DriverWatchdog.Health.HEALTHY)
+            return driver;
+
+        if (!DriverWatchdog.isKilled(driver))
+            DriverWatchdog.kill(driver, "browser " + health.name().toLowerCase() + " before test start");
+        LogsUtils.warn("Replacing browser: " + DriverWatchdog.killReason(driver)); // reason is dropped once it is quit
+        BrowserContextIsolation.close(driver);
+        WebDriver fresh = DriverPool.replace(driver);
+        if (BrowserContextIsolation.isEnabled() && BrowserContextIsolation.supports(fresh))
+            BrowserContextIsolation.open(fresh); // same isolation as a regular lease
+        if (getDriver() == driver)
+            driverThreadLocal.set(fresh);
+        return fresh;
+    }
+
+    // Why the watchdog killed this driver's browser, or null if it did not
+    public static String failureReason(WebDriver driver) {
+        return driver == null ? null : DriverWatchdog.killReason(driver);
+    }
+
+    // Sample CPU/RSS/process count of the browser's process tree until stopResourceSampling
+    public static void startResourceSampling(WebDriver driver) {
+        BrowserResources.start(driver);
+    }
+
+    // Null when sampling was never started for this driver
+    public static BrowserResourceUsage stopResourceSampling(WebDriver driver) {
+        return BrowserResources.stop(driver);
+    }
+
+    // Fresh CDP browser context (own cookies/storage) inside the same Chrome process
+    public static void openIsolatedContext(WebDriver driver) {
+        BrowserContextIsolation.open(driver);
+    }
+
+    public static void closeIsolatedContext(WebDriver driver) {
+        BrowserContextIsolation.close(driver);
+    }
+
+    // Pre-launch browsers before the first test asks for one
+    public static void warmUp(String browser, MutableCapabilities options, int count) {
+        DriverPool.warmUp(poolKey(browser, options), () -> launch(browser, options, null), count);
+    }
+
+    // Resolve driver binaries once per JVM (cached on disk across runs, no network when cached)
+    public static void resolveDriver(String browser) {
+        if (!GridProvider.isEnabled()) // grid nodes bring their own drivers
+            DriverBinaryResolver.resolve(browser);
+    }
+
+    private static WebDriver lease(String browser, MutableCapabilities options, LaunchProfile profile) {
+        WebDriver driver = DriverPool.lease(poolKey(browser, options), () -> launch(browser, options, profile));
+        if (BrowserContextIsolation.isEnabled() && BrowserContextIsolation.supports(driver))
+            BrowserContextIsolation.open(driver);
+        return driver;
+    }
+
+    private static WebDriver launch(String browser, MutableCapabilities options, LaunchProfile profile) {
+        resolveDriver(browser);
+        long start = System.currentTimeMillis();
+        DriverWatchdog.Commands commands = new DriverWatchdog.Commands();
+        WebDriver driver;
+        try {
+            driver = createDriver(browser, options, commands);
+        } catch (SessionNotCreatedException e) {
+            // typically a browser update that left the cached driver behind: re-resolve once and retry
+            if (GridProvider.isEnabled() || !DriverBinaryResolver.invalidate(browser))
+                throw e;
+            resolveDriver(browser);
+            driver = createDriver(browser, options, commands);
+        }
+        if (!GridProvider.isEnabled()) { // watchdog probes local processes only
+            DriverWatchdog.watch(driver, commands);
+            if (driver instanceof HasCapabilities session) // free version check for the next run's manifest lookup
+                DriverBinaryResolver.recordBrowserVersion(browser, session.getCapabilities().getBrowserVersion());
+        }
+        long elapsed = System.currentTimeMillis() - start;
+        if (profile != null)
+            profile.recordLaunch(elapsed);
+        LogsUtils.info("Launched " + browser + " with " + (profile != null ? "profile " + profile.getProfileName()
+                : "custom options") + " in " + elapsed + " ms");
+        return driver;
+    }
+
+    private static WebDriver createDriver(String browser, MutableCapabilities options, DriverWatchdog.Commands commands) {
+        boolean remote = GridProvider.isEnabled();
+        // Local binary paths mean nothing on a grid node
+        Optional<String> browserBinary = remote ? Optional.empty() : DriverBinaryResolver.browserBinary(browser);
+        switch (browser.toLowerCase())
+        {
+            case "chrome":
+                ChromeOptions chromeOptions = new ChromeOptions().merge(options);
+                browserBinary.ifPresent(chromeOptions::setBinary);
+                return remote ? GridProvider.create(browser, chromeOptions, clientConfig(commands))
+                        : new ChromeDriver(ChromeDriverService.createDefaultService(), chromeOptions, clientConfig(commands));
+            case "firefox":
+                FirefoxOptions firefoxOptions = new FirefoxOptions().merge(options);
+                browserBinary.ifPresent(firefoxOptions::setBinary);
+                return remote ? GridProvider.create(browser, firefoxOptions, clientConfig(commands))
+                        : new FirefoxDriver(GeckoDriverService.createDefaultService(), firefoxOptions, clientConfig(commands));
+            default:
+                EdgeOptions edgeOptions = new EdgeOptions().merge(options);
+                browserBinary.ifPresent(edgeOptions::setBinary);
+                return remote ? GridProvider.create(browser, edgeOptions, clientConfig(commands))
+                        : new EdgeDriver(EdgeDriverService.createDefaultService(), edgeOptions, clientConfig(commands));
+        }
+    }
+
+    // Every wire command passes this filter >> counted against the Utility action running on the calling thread,
+    // and tracked as in flight for the watchdog
+    private static ClientConfig clientConfig(DriverWatchdog.Commands commands) {
+        return ClientConfig.defaultConfig().withFilter(next -> request -> {
+            CommandStats.record();
+            commands.started();
+            try {
+                return next.execute(request);
+            } finally {
+                commands.finished();
+            }
+        });
+    }
+
+    private static String poolKey(String browser, MutableCapabilities options) {
+        return browser.toLowerCase() + options.asMap();
+    }
+}
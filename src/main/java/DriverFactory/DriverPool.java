@@ -0,0 +1,246 @@
+package DriverFactory;
+
+import Utilities.LogsUtils;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of pre-launched browsers. Drivers are leased per launch key (browser + options),
+ * reset on return (cookies, storage of every origin visited, extra tabs) and handed to the next caller instead of being quit.
+ * <p>
+ * Size is taken from {@code -Ddriver.pool.size} (0 disables pooling),
+ * lease timeout from {@code -Ddriver.pool.leaseTimeout} in seconds.
+ */
+class DriverPool {
+    private static final int MAX_SIZE = Integer.getInteger("driver.pool.size", 2);
+    private static final long LEASE_TIMEOUT_SECONDS = Long.getLong("driver.pool.leaseTimeout", 120);
+
+    private static final Semaphore leaseSlots = new Semaphore(Math.max(MAX_SIZE, 1), true);
+    private static final Map<String, Deque<WebDriver>> idleDrivers = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, String> leasedDrivers = new ConcurrentHashMap<>();
+    private static final Map<String, Supplier<WebDriver>> launchers = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverPool::shutdown, "driver-pool-shutdown"));
+    }
+
+    private DriverPool() {
+    }
+
+    static boolean isEnabled() {
+        return MAX_SIZE > 0;
+    }
+
+    static WebDriver lease(String key, Supplier<WebDriver> launcher) {
+        launchers.put(key, launcher);
+        if (!isEnabled())
+            return launcher.get();
+
+        try {
+            if (!leaseSlots.tryAcquire(LEASE_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                throw new IllegalStateException("Driver pool exhausted: no browser returned within "
+                        + LEASE_TIMEOUT_SECONDS + "s (pool size " + MAX_SIZE + ")");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pooled driver", e);
+        }
+
+        try {
+            WebDriver driver = takeIdle(key);
+            if (driver == null) {
+                evictForCapacity();
+                driver = launcher.get();
+                LogsUtils.info("Driver pool launched a new browser for " + key);
+            }
+            leasedDrivers.put(driver, key);
+            return driver;
+        } catch (RuntimeException e) {
+            leaseSlots.release();
+            throw e;
+        }
+    }
+
+    static void release(WebDriver driver) {
+        if (driver == null)
+            return;
+
+        String key = leasedDrivers.remove(driver);
+        if (key == null) {
+            // Not leased from the pool (or pooling disabled) >> plain quit
+            quitQuietly(driver);
+            return;
+        }
+
+        try {
+            if (resetState(driver))
+                idleDrivers.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>()).offerFirst(driver);
+            else
+                quitQuietly(driver);
+        } finally {
+            leaseSlots.release();
+        }
+    }
+
+    // Swap a dead/hung leased browser for a fresh one with the same launch key
+    static WebDriver replace(WebDriver driver) {
+        String key = leasedDrivers.get(driver);
+        if (key == null)
+            throw new IllegalArgumentException("Driver was not leased from the pool and cannot be replaced");
+        Supplier<WebDriver> launcher = launchers.get(key);
+        release(driver);
+        return lease(key, launcher);
+    }
+
+    /**
+     * Launches up to {@code count} browsers in parallel and parks them as idle, so the first leases skip startup.
+     */
+    static void warmUp(String key, Supplier<WebDriver> launcher, int count) {
+        if (!isEnabled())
+            return;
+
+        int toLaunch = Math.min(count, MAX_SIZE - liveCount());
+        List<CompletableFuture<Void>> launches = new ArrayList<>();
+        for (int i = 0; i < toLaunch; i++) {
+            launches.add(CompletableFuture.runAsync(() ->
+                    idleDrivers.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>()).offer(launcher.get())));
+        }
+        try {
+            CompletableFuture<?>[] all = launches.toArray(new CompletableFuture<?>[0]);
+            CompletableFuture.allOf(all).join();
+            LogsUtils.info("Driver pool warmed up " + toLaunch + " browser(s) for " + key);
+        } catch (RuntimeException e) {
+            LogsUtils.warn("Driver pool warm-up failed: " + e.getMessage());
+        }
+    }
+
+    static void shutdown() {
+        idleDrivers.values().forEach(deque -> {
+            WebDriver driver;
+            while ((driver = deque.poll()) != null)
+                quitQuietly(driver);
+        });
+        leasedDrivers.keySet().forEach(DriverPool::quitQuietly);
+        leasedDrivers.clear();
+    }
+
+    private static WebDriver takeIdle(String key) {
+        Deque<WebDriver> deque = idleDrivers.get(key);
+        if (deque == null)
+            return null;
+
+        WebDriver driver;
+        while ((driver = deque.poll()) != null) {
+            if (isAlive(driver))
+                return driver;
+            quitQuietly(driver);
+        }
+        return null;
+    }
+
+    // Idle browsers of other launch keys still hold memory >> quit one when the pool is full
+    private static void evictForCapacity() {
+        if (liveCount() < MAX_SIZE)
+            return;
+        for (Deque<WebDriver> deque : idleDrivers.values()) {
+            WebDriver victim = deque.pollLast();
+            if (victim != null) {
+                quitQuietly(victim);
+                return;
+            }
+        }
+    }
+
+    private static int liveCount() {
+        return leasedDrivers.size() + idleDrivers.values().stream().mapToInt(Deque::size).sum();
+    }
+
+    private static boolean isAlive(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    // Cheap state reset between leases: single tab, no cookies, no storage of any origin visited, blank page
+    private static boolean resetState(WebDriver driver) {
+        try {
+            Set<String> origins = new LinkedHashSet<>();
+            String keep = driver.getWindowHandles().iterator().next();
+            for (String handle : driver.getWindowHandles()) {
+                driver.switchTo().window(handle);
+                origins.addAll(visitedOrigins(driver));
+                if (!handle.equals(keep))
+                    driver.close();
+            }
+            driver.switchTo().window(keep);
+
+            if (driver instanceof HasCdp cdp) {
+                // admin and storefront live on different origins; each keeps its own localStorage/IndexedDB
+                for (String origin : origins)
+                    cdp.executeCdpCommand("Storage.clearDataForOrigin", Map.of("origin", origin, "storageTypes", "all"));
+                cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            } else {
+                ((JavascriptExecutor) driver).executeScript(
+                        "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+                driver.manage().deleteAllCookies();
+            }
+            driver.get("about:blank");
+            return true;
+        } catch (WebDriverException e) {
+            LogsUtils.warn("Driver reset failed, discarding browser: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Origins in the current tab's session history (CDP), or just the current one
+    private static Set<String> visitedOrigins(WebDriver driver) {
+        List<String> urls = new ArrayList<>();
+        if (driver instanceof HasCdp cdp) {
+            Object entries = cdp.executeCdpCommand("Page.getNavigationHistory", Map.of()).get("entries");
+            if (entries instanceof List<?> list)
+                for (Object entry : list)
+                    if (entry instanceof Map<?, ?> map && map.get("url") instanceof String url)
+                        urls.add(url);
+        }
+        urls.add(driver.getCurrentUrl());
+
+        Set<String> origins = new LinkedHashSet<>();
+        for (String url : urls) {
+            try {
+                URI uri = URI.create(url);
+                if (uri.getScheme() != null && uri.getScheme().startsWith("http") && uri.getHost() != null)
+                    origins.add(uri.getScheme() + "://" + uri.getHost() + (uri.getPort() > 0 ? ":" + uri.getPort() : ""));
+            } catch (IllegalArgumentException e) {
+                // data:, about: or malformed history entry
+            }
+        }
+        return origins;
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        DriverWatchdog.unwatch(driver);
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            LogsUtils.warn("Failed to quit driver: " + e.getMessage());
+        }
+    }
+}
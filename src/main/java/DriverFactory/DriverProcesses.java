@@ -0,0 +1,75 @@
+package DriverFactory;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Maps a local driver session to its OS processes: the driver service (chromedriver, msedgedriver, geckodriver)
+ * is a child of this JVM started with {@code --port=<port>}, and the browser processes are its descendants.
+ */
+class DriverProcesses {
+
+    private DriverProcesses() {
+    }
+
+    static Optional<URL> serviceUrl(WebDriver driver) {
+        if (driver instanceof RemoteWebDriver remote && remote.getCommandExecutor() instanceof HttpCommandExecutor http)
+            return Optional.ofNullable(http.getAddressOfRemoteServer());
+        return Optional.empty();
+    }
+
+    // e.g. "localhost:40123" from goog:chromeOptions / ms:edgeOptions
+    static Optional<String> debuggerAddress(WebDriver driver) {
+        if (!(driver instanceof RemoteWebDriver remote))
+            return Optional.empty();
+        Capabilities capabilities = remote.getCapabilities();
+        for (String key : new String[]{"goog:chromeOptions", "ms:edgeOptions"}) {
+            if (capabilities.getCapability(key) instanceof Map<?, ?> options && options.get("debuggerAddress") != null)
+                return Optional.of(options.get("debuggerAddress").toString());
+        }
+        return Optional.empty();
+    }
+
+    static Optional<ProcessHandle> serviceProcess(WebDriver driver) {
+        Optional<URL> url = serviceUrl(driver).filter(DriverProcesses::isLocal);
+        if (url.isEmpty())
+            return Optional.empty();
+        String portArgument = "--port=" + url.get().getPort();
+        return ProcessHandle.current().children()
+                .filter(process -> process.info().arguments()
+                        .map(arguments -> List.of(arguments).contains(portArgument))
+                        .orElse(false))
+                .findFirst();
+    }
+
+    // Driver service first, then every browser process below it
+    static List<ProcessHandle> processTree(WebDriver driver) {
+        List<ProcessHandle> tree = new ArrayList<>();
+        serviceProcess(driver).ifPresent(service -> {
+            tree.add(service);
+            service.descendants().forEach(tree::add);
+        });
+        return tree;
+    }
+
+    static int killTree(WebDriver driver) {
+        List<ProcessHandle> tree = processTree(driver);
+        // Children first so the browser cannot be re-parented and survive its driver
+        for (int i = tree.size() - 1; i >= 0; i--)
+            tree.get(i).destroyForcibly();
+        return tree.size();
+    }
+
+    private static boolean isLocal(URL url) {
+        String host = url.getHost();
+        return host.equals("localhost") || host.equals("127.0.0.1") || host.equals("[::1]");
+    }
+}
@@ -0,0 +1,183 @@
+package DriverFactory;
+
+import Utilities.LogsUtils;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background liveness checks for leased browsers. Probes go to the driver service {@code /status}
+ * and the browser's DevTools {@code /json/version} endpoints, which answer even while a session
+ * command (e.g. a slow page load) is in flight, and then to the session itself: a renderer hang leaves both
+ * endpoints answering, so an idle session must also run {@code executeScript("return 1")} within the probe
+ * timeout, and a busy one must not have a command in flight for longer than {@code driver.watchdog.commandTimeout}.
+ * A browser that is hung or crashed on consecutive probes has its process tree killed, so the test fails
+ * immediately with a recorded reason instead of sitting out every 40-second wait.
+ * <p>
+ * {@code -Ddriver.watchdog=false} disables it; interval, probe timeout and command timeout are
+ * {@code driver.watchdog.interval} / {@code driver.watchdog.probeTimeout} / {@code driver.watchdog.commandTimeout}
+ * in milliseconds.
+ */
+class DriverWatchdog {
+    enum Health {HEALTHY, HUNG, CRASHED}
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("driver.watchdog", "true"));
+    private static final long INTERVAL_MS = Long.getLong("driver.watchdog.interval", 15000);
+    private static final Duration PROBE_TIMEOUT = Duration.ofMillis(Long.getLong("driver.watchdog.probeTimeout", 5000));
+    // Longer than the page-load and script timeouts, so only a command nothing will ever answer trips it
+    private static final long COMMAND_TIMEOUT_MS = Long.getLong("driver.watchdog.commandTimeout", 180000);
+    private static final int STRIKES = 2;
+
+    private static final HttpClient http = HttpClient.newBuilder().connectTimeout(PROBE_TIMEOUT).build();
+    private static final Map<WebDriver, Integer> watched = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, String> killReasons = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, Commands> commands = new ConcurrentHashMap<>();
+    // A hung session probe blocks its thread until the browser is killed
+    private static final ExecutorService sessionProbes = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "driver-watchdog-probe");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static ScheduledExecutorService scheduler;
+
+    /**
+     * Wire commands in flight for one driver, counted by the HTTP filter DriverFactory installs.
+     */
+    static class Commands {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile long busySince;
+
+        void started() {
+            if (inFlight.getAndIncrement() == 0)
+                busySince = System.currentTimeMillis();
+        }
+
+        void finished() {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private DriverWatchdog() {
+    }
+
+    static synchronized void watch(WebDriver driver, Commands driverCommands) {
+        commands.put(driver, driverCommands);
+        if (!ENABLED)
+            return;
+        watched.put(driver, 0);
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "driver-watchdog");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(DriverWatchdog::sweep, INTERVAL_MS, INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Driver quit: nothing about it is needed any more
+    static void unwatch(WebDriver driver) {
+        watched.remove(driver);
+        commands.remove(driver);
+        killReasons.remove(driver);
+    }
+
+    static boolean isKilled(WebDriver driver) {
+        return killReasons.containsKey(driver);
+    }
+
+    static String killReason(WebDriver driver) {
+        return killReasons.get(driver);
+    }
+
+    static Health probe(WebDriver driver) {
+        Health service = probeEndpoint(DriverProcesses.serviceUrl(driver).map(url -> url + "/status"));
+        if (service != Health.HEALTHY)
+            return service;
+        Health browser = probeEndpoint(DriverProcesses.debuggerAddress(driver).map(address -> "http://" + address + "/json/version"));
+        if (browser != Health.HEALTHY)
+            return browser;
+        return probeSession(driver);
+    }
+
+    static void kill(WebDriver driver, String reason) {
+        watched.remove(driver);
+        killReasons.put(driver, reason);
+        int killed = DriverProcesses.killTree(driver);
+        LogsUtils.error("Watchdog killed browser (" + killed + " processes): " + reason);
+    }
+
+    private static void sweep() {
+        watched.forEach((driver, strikes) -> {
+            Health health = probe(driver);
+            if (health == Health.HEALTHY) {
+                watched.put(driver, 0);
+                return;
+            }
+            if (strikes + 1 >= STRIKES)
+                kill(driver, "browser " + health.name().toLowerCase() + " on " + STRIKES
+                        + " consecutive probes (timeout " + PROBE_TIMEOUT.toMillis() + " ms)");
+            else
+                watched.put(driver, strikes + 1);
+        });
+    }
+
+    // Reaches the renderer; skipped while the test has a command in flight, which would queue the probe behind it
+    private static Health probeSession(WebDriver driver) {
+        Commands driverCommands = commands.get(driver);
+        if (driverCommands != null && driverCommands.inFlight.get() > 0)
+            return System.currentTimeMillis() - driverCommands.busySince > COMMAND_TIMEOUT_MS ? Health.HUNG : Health.HEALTHY;
+        if (!(driver instanceof JavascriptExecutor js))
+            return Health.HEALTHY;
+        Future<Object> answer = sessionProbes.submit(() -> js.executeScript("return 1;"));
+        try {
+            answer.get(PROBE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            return Health.HEALTHY;
+        } catch (TimeoutException e) {
+            answer.cancel(true);
+            return Health.HUNG;
+        } catch (ExecutionException e) {
+            // an open alert or a navigation in progress is an answer too; a dead session is not
+            return e.getCause() instanceof NoSuchSessionException ? Health.CRASHED : Health.HEALTHY;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Health.HEALTHY;
+        }
+    }
+
+    private static Health probeEndpoint(Optional<String> endpoint) {
+        if (endpoint.isEmpty())
+            return Health.HEALTHY; // nothing to probe (e.g. remote or non-Chromium browser)
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(endpoint.get())).timeout(PROBE_TIMEOUT).GET().build();
+            return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 500
+                    ? Health.HEALTHY : Health.CRASHED;
+        } catch (HttpTimeoutException e) {
+            return Health.HUNG;
+        } catch (IOException e) {
+            return Health.CRASHED; // connection refused/reset >> process is gone
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Health.HEALTHY;
+        }
+    }
+}
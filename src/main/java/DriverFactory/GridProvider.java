@@ -0,0 +1,157 @@
+package DriverFactory;
+
+import Utilities.LogsUtils;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.http.ClientConfig;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remote sessions on a Selenium Grid (e.g. {@code java -jar selenium-server.jar standalone} on localhost).
+ * Enabled with {@code -Ddriver.grid.url=http://localhost:4444}.
+ * <p>
+ * Session starts are scheduled against the grid's {@code /status}: a start only goes out when a matching slot
+ * is free (minus starts already in flight from this JVM), otherwise the caller queues until one frees up or
+ * {@code -Ddriver.grid.queueTimeout} (seconds, default 300) runs out.
+ */
+class GridProvider {
+    private static final String GRID_URL = System.getProperty("driver.grid.url", "");
+    private static final long QUEUE_TIMEOUT_MS = Long.getLong("driver.grid.queueTimeout", 300) * 1000;
+    private static final long POLL_INTERVAL_MS = Long.getLong("driver.grid.pollInterval", 2000);
+
+    private static final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private static final Map<String, Integer> startsInFlight = new ConcurrentHashMap<>();
+    private static final Object slotMonitor = new Object();
+
+    private GridProvider() {
+    }
+
+    static boolean isEnabled() {
+        return !GRID_URL.isBlank();
+    }
+
+    static WebDriver create(String browser, Capabilities capabilities, ClientConfig config) {
+        String browserName = capabilities.getBrowserName();
+        long deadline = System.currentTimeMillis() + QUEUE_TIMEOUT_MS;
+        while (true) {
+            awaitSlot(browserName, deadline);
+            try {
+                WebDriver driver = new RemoteWebDriver(new HttpCommandExecutor(config.baseUrl(gridUrl())), capabilities);
+                // Augmented >> HasCdp / HasDevTools keep working for pool reset and context isolation
+                return new Augmenter().augment(driver);
+            } catch (SessionNotCreatedException e) {
+                // Another client took the slot between our status check and the request >> queue again;
+                // anything else (bad capabilities, no node supports them) will not get better by waiting
+                if (!isCapacityRefusal(e) || System.currentTimeMillis() > deadline)
+                    throw e;
+                LogsUtils.warn("Grid refused a " + browser + " session, re-queueing: " + e.getRawMessage());
+            } finally {
+                synchronized (slotMonitor) {
+                    startsInFlight.merge(browserName, -1, Integer::sum);
+                    slotMonitor.notifyAll();
+                }
+            }
+        }
+    }
+
+    // Free slots for the browser across all UP nodes, capped by each node's max concurrent sessions
+    static int freeSlots(String browserName) {
+        JsonObject status = status();
+        if (status == null || !status.get("ready").getAsBoolean())
+            return 0;
+
+        int free = 0;
+        for (JsonElement nodeElement : status.getAsJsonArray("nodes")) {
+            JsonObject node = nodeElement.getAsJsonObject();
+            if (!"UP".equals(node.get("availability").getAsString()))
+                continue;
+            int busy = 0;
+            int matching = 0;
+            for (JsonElement slotElement : node.getAsJsonArray("slots")) {
+                JsonObject slot = slotElement.getAsJsonObject();
+                boolean inUse = slot.has("session") && !slot.get("session").isJsonNull();
+                if (inUse)
+                    busy++;
+                else if (browserName.equalsIgnoreCase(slot.getAsJsonObject("stereotype").get("browserName").getAsString()))
+                    matching++;
+            }
+            free += Math.min(matching, node.get("maxSessions").getAsInt() - busy);
+        }
+        return free;
+    }
+
+    // The /status request runs outside the monitor; only the in-flight bookkeeping is done under it
+    private static void awaitSlot(String browserName, long deadline) {
+        boolean announced = false;
+        while (true) {
+            int free = freeSlots(browserName);
+            synchronized (slotMonitor) {
+                if (free - startsInFlight.getOrDefault(browserName, 0) > 0) {
+                    startsInFlight.merge(browserName, 1, Integer::sum);
+                    return;
+                }
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0)
+                    throw new IllegalStateException("No free " + browserName + " slot on grid " + GRID_URL
+                            + " within " + QUEUE_TIMEOUT_MS / 1000 + "s");
+                if (!announced) {
+                    LogsUtils.info("All " + browserName + " slots on the grid are busy, queueing session start...");
+                    announced = true;
+                }
+                try {
+                    slotMonitor.wait(Math.min(POLL_INTERVAL_MS, remaining));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for a grid slot", e);
+                }
+            }
+        }
+    }
+
+    // Grid wording for "no capacity right now" (slot taken, new-session queue timed out)
+    private static boolean isCapacityRefusal(SessionNotCreatedException e) {
+        String message = String.valueOf(e.getRawMessage()).toLowerCase();
+        return message.contains("timed out") || message.contains("timeout") || message.contains("no slot")
+                || message.contains("busy") || message.contains("retry");
+    }
+
+    private static JsonObject status() {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(GRID_URL.replaceAll("/+$", "") + "/status"))
+                    .timeout(Duration.ofSeconds(5)).GET().build();
+            String body = http.send(request, HttpResponse.BodyHandlers.ofString()).body();
+            return JsonParser.parseString(body).getAsJsonObject().getAsJsonObject("value");
+        } catch (IOException | RuntimeException e) {
+            LogsUtils.warn("Grid status unavailable: " + e.getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static URL gridUrl() {
+        try {
+            return URI.create(GRID_URL).toURL();
+        } catch (MalformedURLException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid driver.grid.url: " + GRID_URL, e);
+        }
+    }
+}
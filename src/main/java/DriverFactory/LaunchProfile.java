@@ -0,0 +1,115 @@
+package DriverFactory;
+
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Named browser launch profiles, defined once and picked per run ({@code -Dbrowser.profile=fast-headless})
+ * or per suite ({@code <parameter name="browser.profile" .../>} in testng.xml). Without either, drivers launch
+ * with {@link #FULL_FIDELITY}.
+ */
+public enum LaunchProfile {
+    // Eager page load, no images, no background networking/extensions, fixed small viewport
+    FAST_HEADLESS("fast-headless"),
+    // What the suite has always used: headless, full page load, images, 1920x1080, no cache
+    FULL_FIDELITY("full-fidelity"),
+    // Visible maximized browser for local debugging
+    DEBUG("debug");
+
+    private static final String[] COMMON_CHROMIUM_ARGS = {
+            "--no-sandbox", "--disable-dev-shm-usage", "--remote-allow-origins=*"
+    };
+
+    private final String profileName;
+    private final AtomicLong launches = new AtomicLong();
+    private final AtomicLong launchMillis = new AtomicLong();
+
+    LaunchProfile(String profileName) {
+        this.profileName = profileName;
+    }
+
+    public String getProfileName() {
+        return profileName;
+    }
+
+    public static LaunchProfile fromName(String name) {
+        return Arrays.stream(values())
+                .filter(profile -> profile.profileName.equalsIgnoreCase(name) || profile.name().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown browser profile: " + name
+                        + ". Expected one of " + Arrays.toString(values())));
+    }
+
+    public MutableCapabilities options(String browser) {
+        switch (browser.toLowerCase()) {
+            case "chrome":
+                return chromiumOptions(new ChromeOptions());
+            case "firefox":
+                return firefoxOptions();
+            default:
+                return chromiumOptions(new EdgeOptions());
+        }
+    }
+
+    void recordLaunch(long millis) {
+        launches.incrementAndGet();
+        launchMillis.addAndGet(millis);
+    }
+
+    // e.g. "fast-headless: 3 launches, avg 812 ms"
+    public String launchSummary() {
+        long count = launches.get();
+        return profileName + ": " + count + " launches, avg " + (count == 0 ? 0 : launchMillis.get() / count) + " ms";
+    }
+
+    private <T extends ChromiumOptions<T>> T chromiumOptions(T options) {
+        options.addArguments(COMMON_CHROMIUM_ARGS);
+        switch (this) {
+            case FAST_HEADLESS:
+                options.addArguments("--headless=new", "--window-size=1366,768", "--disable-gpu",
+                        "--disable-extensions", "--disable-background-networking", "--disable-component-update",
+                        "--disable-default-apps", "--disable-sync", "--mute-audio",
+                        "--blink-settings=imagesEnabled=false");
+                options.setExperimentalOption("prefs", Map.of("profile.managed_default_content_settings.images", 2));
+                options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+                break;
+            case FULL_FIDELITY:
+                options.addArguments("--headless=new", "--window-size=1920,1080", "--disable-gpu",
+                        "--disable-extensions", "--disable-cache");
+                options.setPageLoadStrategy(PageLoadStrategy.NORMAL);
+                break;
+            default:
+                options.addArguments("--start-maximized");
+                options.setPageLoadStrategy(PageLoadStrategy.NORMAL);
+        }
+        return options;
+    }
+
+    private FirefoxOptions firefoxOptions() {
+        FirefoxOptions options = new FirefoxOptions();
+        switch (this) {
+            case FAST_HEADLESS:
+                options.addArguments("-headless", "--width=1366", "--height=768");
+                options.addPreference("permissions.default.image", 2);
+                options.addPreference("network.prefetch-next", false);
+                options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+                break;
+            case FULL_FIDELITY:
+                options.addArguments("-headless", "--width=1920", "--height=1080");
+                options.addPreference("browser.cache.disk.enable", false);
+                options.setPageLoadStrategy(PageLoadStrategy.NORMAL);
+                break;
+            default:
+                options.setPageLoadStrategy(PageLoadStrategy.NORMAL);
+        }
+        return options;
+    }
+}
@@ -4,6 +4,8 @@ import Utilities.Utility;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
+import java.util.List;
+
 public class AdminPage extends BasePage {
 
     private By usernameField = By.id("username");
@@ -19,6 +21,12 @@ public class AdminPage extends BasePage {
         super(driver);
     }
 
+    // Login form, or the admin menu when the session is already signed in
+    @Override
+    protected List<By> readinessMarkers() {
+        return List.of(By.cssSelector("#login-form, #nav"));
+    }
+
     public void login(String username, String password) {
         sendKeys(usernameField, username);
         sendKeys(passwordField, password);
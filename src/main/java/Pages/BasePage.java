@@ -1,30 +1,97 @@
 package Pages;
 
+import DriverFactory.DriverFactory;
+import Utilities.FlightRecorder;
+import Utilities.LocatorProfiler;
+import Utilities.MagentoSync;
 import Utilities.Utility;
 import org.openqa.selenium.By;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public class BasePage {
-    protected static WebDriver driver;
+    // Per-instance driver: page objects on different threads never share a browser
+    protected final WebDriver driver;
+
+    // Elements this page instance already resolved; dropped when this page navigates, re-resolved when stale
+    // (an element of a document that has since been replaced is always stale, so no URL check per access)
+    private final Map<By, WebElement> elementCache = new HashMap<>();
 
     public BasePage(WebDriver driver) {
         this.driver = driver;
     }
 
-    public static void openUrl(String url) {
+    // Page bound to the current thread's driver from DriverFactory
+    public BasePage() {
+        this(DriverFactory.getDriver());
+    }
+
+    public void openUrl(String url) {
+        elementCache.clear();
         Utility.openUrl(driver, url);
+        waitUntilReady();
+    }
+
+    // Readiness contract: elements that must be visible before this page is usable; pages override
+    protected List<By> readinessMarkers() {
+        return List.of();
+    }
+
+    // Waits exactly as long as this page needs: Magento idle, then every readiness marker visible
+    public void waitUntilReady() {
+        MagentoSync.waitForIdle(driver);
+        for (By marker : readinessMarkers())
+            find(marker);
+        if (LocatorProfiler.isEnabled())
+            LocatorProfiler.profile(driver, this);
+    }
+
+    // Action that loads another page: follows the navigation it starts, then applies the destination's readiness contract
+    protected <P extends BasePage> P navigate(Runnable action, P destination) {
+        MagentoSync.settleAfter(driver, action);
+        elementCache.clear();
+        destination.waitUntilReady();
+        return destination;
     }
 
     public void click(By locator) {
-        Utility.clickingOnElement(driver, locator);
+        try {
+            cachedElement(locator, false, true).click();
+            FlightRecorder.record(driver, "click", locator, null);
+        } catch (StaleElementReferenceException | ElementNotInteractableException e) {
+            elementCache.remove(locator);
+            Utility.clickingOnElement(driver, locator); // waits until clickable
+        }
     }
 
     public void sendKeys(By locator, String text) {
-        Utility.sendData(driver, locator, text);
+        try {
+            cachedElement(locator, false, false).sendKeys(text);
+            FlightRecorder.record(driver, "sendData", locator, null);
+        } catch (StaleElementReferenceException | ElementNotInteractableException e) {
+            elementCache.remove(locator);
+            Utility.sendData(driver, locator, text);
+        }
     }
 
     public String getText(By locator) {
-        return Utility.getText(driver, locator);
+        try {
+            return find(locator).getText();
+        } catch (StaleElementReferenceException e) {
+            elementCache.remove(locator);
+            return Utility.getText(driver, locator);
+        }
+    }
+
+    // Visible element, reused when this page already resolved it on the current URL
+    protected WebElement find(By locator) {
+        return cachedElement(locator, true, false);
     }
 
     public void selectFromDropdown(By locator, String option) {
@@ -34,4 +101,21 @@ public class BasePage {
     public void waitForPageToLoad(int timeout) {
         Utility.waitForPageToLoad(driver, timeout);
     }
+
+    // Actions skip the visibility re-check: a stale or hidden element makes the action itself throw.
+    // The first resolution waits like Utility does: until clickable for clicks, visible otherwise.
+    private WebElement cachedElement(By locator, boolean verifyVisible, boolean clickable) {
+        WebElement element = elementCache.get(locator);
+        if (element != null) {
+            try {
+                if (!verifyVisible || element.isDisplayed())
+                    return element;
+            } catch (StaleElementReferenceException e) {
+                // re-resolved below
+            }
+        }
+        element = clickable ? Utility.findClickableElement(driver, locator) : Utility.findWebElement(driver, locator);
+        elementCache.put(locator, element);
+        return element;
+    }
 }
@@ -4,6 +4,8 @@ import Utilities.Utility;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
+import java.util.List;
+
 public class LogInPage extends BasePage {
 
     // Locators for the login page
@@ -19,6 +21,12 @@ public class LogInPage extends BasePage {
         super(driver);
     }
 
+    // Storefront header holding the login link
+    @Override
+    protected List<By> readinessMarkers() {
+        return List.of(logInButton);
+    }
+
     // Method to click the login button
     public void clickLoginButton() {
         Utility.clickingOnElement(driver, logInButton);
@@ -49,6 +57,15 @@ public class LogInPage extends BasePage {
         Utility.findWebElement(driver, facebookLoginButton).click();
     }
 
+    // Open the login popup and submit credentials (field waits replace the old fixed sleep)
+    public void loginThroughPopup(String email, String password) {
+        clickLoginButton();
+        enterEmail(email);
+        enterPassword(password);
+        clickSubmitLogIn();
+        Utility.waitForPageToLoad(driver, 10);
+    }
+
     // Method to perform login
     public void performLogin(String email, String password) {
         enterEmail(email);
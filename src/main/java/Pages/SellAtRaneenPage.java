@@ -4,6 +4,8 @@ import Utilities.Utility;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
+import java.util.List;
+
 public class SellAtRaneenPage extends BasePage {
 
 
@@ -24,6 +26,12 @@ public class SellAtRaneenPage extends BasePage {
         super(driver);
     }
 
+    // Seller form
+    @Override
+    protected List<By> readinessMarkers() {
+        return List.of(sellerNameField, submitButton);
+    }
+
     // Methods to interact with elements
     public void enterSellerName(String sellerName) {
         Utility.sendData(driver, sellerNameField, sellerName);
@@ -1,9 +1,10 @@
 package Pages;
 
-import Utilities.Utility;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
+import java.util.List;
+
 public class WebCategoryPage extends BasePage {
 
     // Locators for the category page
@@ -25,50 +26,56 @@ public class WebCategoryPage extends BasePage {
         super(driver);
     }
 
+    // Product grid plus toolbar
+    @Override
+    protected List<By> readinessMarkers() {
+        return List.of(allProducts, sortByDropDownButton);
+    }
+
     // Methods to interact with elements
 
     public void assertallProductsDiv() {
-        Utility.findWebElement(driver, allProducts);
+        find(allProducts);
     }
 
     public void assertFirstProduct() {
-        Utility.findWebElement(driver, firstProduct);
+        find(firstProduct);
     }
 
     public void assertSecondProduct() {
-        Utility.findWebElement(driver, secondProduct);
+        find(secondProduct);
     }
 
     public void assertThirdProduct() {
-        Utility.findWebElement(driver, thirdProduct);
+        find(thirdProduct);
     }
 
     public String assertProductTitle() {
-        return Utility.getText(driver, productTitle);
+        return getText(productTitle);
     }
 
     public void assertProductPrice() {
-        Utility.findWebElement(driver, productPrice);
+        find(productPrice);
     }
 
     public void switchToGridView() {
-        Utility.clickingOnElement(driver, gridViewButton);
+        click(gridViewButton);
     }
 
     public void switchToListView() {
-        Utility.clickingOnElement(driver, listViewButton);
+        click(listViewButton);
     }
 
     public void assertFiltersSideBar() {
-        Utility.findWebElement(driver, filtersSideBar);
+        find(filtersSideBar);
     }
 
     public void assertSortByButton() {
-        Utility.findWebElement(driver, sortByButton);
+        find(sortByButton);
     }
 
     public void assertSortByDropDownButton() {
-        Utility.findWebElement(driver, sortByDropDownButton);
+        find(sortByDropDownButton);
     }
 
 }
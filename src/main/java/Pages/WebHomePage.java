@@ -1,9 +1,12 @@
 package Pages;
 
+import Utilities.BrowserMacro;
 import Utilities.Utility;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
+import java.util.List;
+
 public class WebHomePage extends BasePage {
 
 
@@ -33,6 +36,12 @@ public class WebHomePage extends BasePage {
         super(driver);
     }
 
+    // Header category button is the last thing the Amasty menu renders
+    @Override
+    protected List<By> readinessMarkers() {
+        return List.of(allCategories);
+    }
+
     // Methods to interact with elements
     public void clickAllCategories() {
         Utility.clickingOnElement(driver, allCategories);
@@ -42,52 +51,66 @@ public class WebHomePage extends BasePage {
         Utility.clickingOnElement(driver, menuTap);
     }
 
-    public void clickAppliances() {
-        Utility.clickingOnElement(driver, appliances);
+    // Sidebar open on the categories tab in one in-page round-trip instead of click >> wait >> click >> wait
+    public void openCategoriesMenu() {
+        BrowserMacro.on(driver)
+                .click(allCategories)
+                .click(menuTap)
+                .waitFor(appliances)
+                .run();
+    }
+
+    public WebCategoryPage clickAppliances() {
+        return openCategory(appliances);
+    }
+
+    public WebCategoryPage clickMobiles() {
+        return openCategory(mobiles);
     }
 
-    public void clickMobiles() {
-        Utility.clickingOnElement(driver, mobiles);
+    public WebCategoryPage clickElectronics() {
+        return openCategory(electronics);
     }
 
-    public void clickElectronics() {
-        Utility.clickingOnElement(driver, electronics);
+    public WebCategoryPage clickSecuritySurveillanceSystems() {
+        return openCategory(SecuritySurveillanceSystems);
     }
 
-    public void clickSecuritySurveillanceSystems() {
-        Utility.clickingOnElement(driver, SecuritySurveillanceSystems);
+    public WebCategoryPage clickHome() {
+        return openCategory(home);
     }
 
-    public void clickHome() {
-        Utility.clickingOnElement(driver, home);
+    public WebCategoryPage clickKitchen() {
+        return openCategory(kitchen);
     }
 
-    public void clickKitchen() {
-        Utility.clickingOnElement(driver, kitchen);
+    public WebCategoryPage clickTextile() {
+        return openCategory(textile);
     }
 
-    public void clickTextile() {
-        Utility.clickingOnElement(driver, textile);
+    public WebCategoryPage clickFurniture() {
+        return openCategory(furniture);
     }
 
-    public void clickFurniture() {
-        Utility.clickingOnElement(driver, furniture);
+    public WebCategoryPage clickFamilyProducts() {
+        return openCategory(familyProducts);
     }
 
-    public void clickFamilyProducts() {
-        Utility.clickingOnElement(driver, familyProducts);
+    public WebCategoryPage clickFashion() {
+        return openCategory(fashion);
     }
 
-    public void clickFashion() {
-        Utility.clickingOnElement(driver, fashion);
+    public WebCategoryPage clickLightingHomeDecore() {
+        return openCategory(lightingHomeDecore);
     }
 
-    public void clickLightingHomeDecore() {
-        Utility.clickingOnElement(driver, lightingHomeDecore);
+    public WebCategoryPage clickHomeEssentials() {
+        return openCategory(homeEssentials);
     }
 
-    public void clickHomeEssentials() {
-        Utility.clickingOnElement(driver, homeEssentials);
+    // Sidebar category links load a category page
+    private WebCategoryPage openCategory(By link) {
+        return navigate(() -> Utility.clickingOnElement(driver, link), new WebCategoryPage(driver));
     }
 
     public void clickAccountTab() {
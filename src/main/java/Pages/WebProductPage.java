@@ -1,9 +1,10 @@
 package Pages;
 
-import Utilities.Utility;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
+import java.util.List;
+
 public class WebProductPage extends BasePage {
     // Locators for the category page
     private By productTitle = By.cssSelector("#maincontent > div.columns > div > div.ocean-product-view-block.ocean-product-main > div.product-info-main > div.page-title-wrapper.product > h1");
@@ -28,65 +29,71 @@ public class WebProductPage extends BasePage {
         super(driver);
     }
 
+    // Title and add-to-cart form
+    @Override
+    protected List<By> readinessMarkers() {
+        return List.of(productTitle, addToCartButton);
+    }
+
     // Methods to locate web elements using Utility
     public void assertProductTitle() {
-        Utility.findWebElement(driver, productTitle);
+        find(productTitle);
     }
 
     public void assertProductPrice() {
-        Utility.findWebElement(driver, productPrice);
+        find(productPrice);
     }
 
     public void assertProductImage() {
-        Utility.findWebElement(driver, productImage);
+        find(productImage);
     }
 
     public void assertProductBrand() {
-        Utility.findWebElement(driver, productBrand);
+        find(productBrand);
     }
 
     public void assertProductReviewsSummary() {
-        Utility.findWebElement(driver, productReviewsSummary);
+        find(productReviewsSummary);
     }
 
     public void assertDeliveryTimeButton() {
-        Utility.clickingOnElement(driver, deliveryTimeButton);
+        click(deliveryTimeButton);
     }
 
     public void assertAddToWishList() {
-        Utility.findWebElement(driver, addToWishList);
+        find(addToWishList);
     }
 
     public void assertAddToCartButton() {
-        Utility.findWebElement(driver, addToCartButton);
+        find(addToCartButton);
     }
 
     public void assertQtySelector() {
-        Utility.findWebElement(driver, qtySelector);
+        find(qtySelector);
     }
 
     public void assertProductDescription() {
-        Utility.findWebElement(driver, productDescription);
+        find(productDescription);
     }
 
     public void assertProductAttributes() {
-        Utility.findWebElement(driver, productAttributes);
+        find(productAttributes);
     }
 
     public void assertReviewsSection() {
-        Utility.findWebElement(driver, ReviewsSection);
+        find(ReviewsSection);
     }
 
     public void assertWriteReviewButton() {
-        Utility.findWebElement(driver, writeReviewButton);
+        find(writeReviewButton);
     }
 
     public void assertSendReviewButton() {
-        Utility.findWebElement(driver, sendReviewButton);
+        find(sendReviewButton);
     }
 
     public void assertRelatedProductsSection() {
-        Utility.findWebElement(driver, relatedProductsSection);
+        find(relatedProductsSection);
     }
 
 
@@ -0,0 +1,295 @@
+package Utilities;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import io.qameta.allure.util.PropertiesUtils;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Content-addressed store for screenshots under {@link #STORE_PATH}: every capture is keyed by the SHA-256 of its
+ * bytes plus a variant (e.g. the highlighted element), so repeated captures of the same page share one blob.
+ * Only exact matches are shared by default. With {@code -Dscreenshot.dedup.distance=N} (N >= 0) captures that differ
+ * only in noise (caret blink, carousel frame, timestamp) are collapsed too: a 64-bit difference hash (dHash) within
+ * N bits of a stored blob of the same size and variant reuses that blob. This can hide a real visual difference of a
+ * few pixels, which is why it is opt-in.
+ * <p>
+ * New blobs are re-encoded at maximum PNG compression ({@code -Dscreenshot.recompress}, true), which is lossless.
+ * {@code index.json} keeps each blob's hash, size, names and last use; blobs unused for
+ * {@code -Dscreenshot.store.retentionDays} (30) are deleted when the index is saved. Allure attachments are hard
+ * links to the blob ({@link #linkAttachment}), so the results directory shares the same storage and keeps its
+ * attachments when the store prunes a blob.
+ */
+public class ArtifactStore {
+    public static String STORE_PATH = Utility.CACHE_PATH + "/screenshot-store/";
+
+    private static final int DEDUP_DISTANCE = Integer.getInteger("screenshot.dedup.distance", -1);
+    private static final long RETENTION_MILLIS = Duration.ofDays(Long.getLong("screenshot.store.retentionDays", 30)).toMillis();
+    private static final boolean RECOMPRESS = !"false".equalsIgnoreCase(System.getProperty("screenshot.recompress", "true"));
+    private static final int MAX_NAMES = 20;
+
+    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private static final Index index = load();
+    private static boolean dirty;
+    private static long captures;
+    private static long bytesSaved;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ArtifactStore::save, "artifact-store-save"));
+    }
+
+    /**
+     * One stored image; {@code dHash} only when perceptual dedup was on, {@code lastUsed} in epoch millis.
+     */
+    private static class Blob {
+        String file;
+        String variant;
+        String dHash;
+        int width;
+        int height;
+        long bytes;
+        long lastUsed;
+        List<String> names = new ArrayList<>();
+    }
+
+    private static class Index {
+        Map<String, Blob> blobs = new HashMap<>();
+        // capture key >> key of the blob it was collapsed into
+        Map<String, String> aliases = new HashMap<>();
+    }
+
+    /**
+     * Where a capture ended up; {@code reused} when it resolved to an existing blob.
+     */
+    public record Entry(String key, Path file, boolean reused) {
+    }
+
+    /**
+     * Stores a PNG capture. {@code decorate} (highlighting, ...) is applied only when a new blob has to be
+     * written; captures with a different decoration must use a different {@code variant}.
+     */
+    public static Entry store(String name, byte[] png, String variant, UnaryOperator<BufferedImage> decorate) throws IOException {
+        String key = sha256(png, variant);
+        synchronized (ArtifactStore.class) {
+            captures++;
+            Entry existing = reference(index.aliases.getOrDefault(key, key), name, png.length);
+            if (existing != null)
+                return existing;
+        }
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null)
+            throw new IOException("Capture '" + name + "' is not a readable image");
+        Long hash = DEDUP_DISTANCE < 0 ? null : dHash(image);
+        if (hash != null) {
+            synchronized (ArtifactStore.class) {
+                String similar = similar(hash, image.getWidth(), image.getHeight(), variant);
+                if (similar != null) {
+                    index.aliases.put(key, similar);
+                    return reference(similar, name, png.length);
+                }
+            }
+        }
+
+        BufferedImage decorated = decorate.apply(image);
+        byte[] encoded = decorated == image && !RECOMPRESS ? png : encode(decorated);
+        if (decorated == image && encoded.length > png.length)
+            encoded = png;
+        Path file = Path.of(STORE_PATH, key + ".png");
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), key, ".tmp");
+        Files.write(temp, encoded);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        synchronized (ArtifactStore.class) {
+            Blob blob = new Blob();
+            blob.file = file.getFileName().toString();
+            blob.variant = variant;
+            blob.dHash = hash == null ? null : Long.toHexString(hash);
+            blob.width = image.getWidth();
+            blob.height = image.getHeight();
+            blob.bytes = encoded.length;
+            index.blobs.put(key, blob);
+            bytesSaved += png.length - encoded.length;
+            reference(key, name, 0);
+            return new Entry(key, file, false);
+        }
+    }
+
+    /**
+     * Puts the blob into the Allure results directory under the attachment source: a hard link, or a copy when
+     * the two directories are on different file systems.
+     */
+    public static void linkAttachment(Entry entry, String source) throws IOException {
+        Path results = Path.of(PropertiesUtils.loadAllureProperties().getProperty("allure.results.directory", "allure-results"));
+        Files.createDirectories(results);
+        Path target = results.resolve(source);
+        try {
+            Files.createLink(target, entry.file().toAbsolutePath());
+        } catch (FileAlreadyExistsException e) {
+            // written by an earlier attempt
+        } catch (IOException | UnsupportedOperationException e) {
+            Files.copy(entry.file(), target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public static synchronized void save() {
+        if (!dirty)
+            return;
+        Index merged = load();
+        merged.blobs.putAll(index.blobs);
+        merged.aliases.putAll(index.aliases);
+        int pruned = prune(merged);
+        try {
+            Path file = Path.of(STORE_PATH, "index.json");
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), "index", ".tmp");
+            Files.writeString(temp, gson.toJson(merged));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+            LogsUtils.info("Screenshot store: " + captures + " captures this run, " + merged.blobs.size()
+                    + " blobs stored, " + pruned + " pruned, " + bytesSaved / 1024 + " KB saved");
+        } catch (IOException e) {
+            LogsUtils.warn("Failed to save screenshot store index: " + e.getMessage());
+        }
+    }
+
+    // Marks a stored blob as used; null when the key is unknown or its file is gone
+    private static Entry reference(String key, String name, long bytesAvoided) {
+        Blob blob = index.blobs.get(key);
+        if (blob == null)
+            return null;
+        Path file = Path.of(STORE_PATH, blob.file);
+        if (!Files.exists(file)) {
+            index.blobs.remove(key);
+            return null;
+        }
+        blob.lastUsed = System.currentTimeMillis();
+        if (blob.names.size() < MAX_NAMES && !blob.names.contains(name))
+            blob.names.add(name);
+        bytesSaved += bytesAvoided;
+        dirty = true;
+        return new Entry(key, file, bytesAvoided > 0);
+    }
+
+    private static String similar(long hash, int width, int height, String variant) {
+        if (DEDUP_DISTANCE < 0)
+            return null;
+        String best = null;
+        int bestDistance = DEDUP_DISTANCE + 1;
+        for (Map.Entry<String, Blob> entry : index.blobs.entrySet()) {
+            Blob blob = entry.getValue();
+            if (blob.dHash == null || blob.width != width || blob.height != height || !blob.variant.equals(variant))
+                continue;
+            int distance = Long.bitCount(Long.parseUnsignedLong(blob.dHash, 16) ^ hash);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = entry.getKey();
+            }
+        }
+        return best;
+    }
+
+    // Deletes blobs (and aliases to them) not used within the retention period; returns how many went
+    private static int prune(Index merged) {
+        long cutoff = System.currentTimeMillis() - RETENTION_MILLIS;
+        List<String> expired = merged.blobs.entrySet().stream()
+                .filter(entry -> entry.getValue().lastUsed < cutoff)
+                .map(Map.Entry::getKey)
+                .toList();
+        for (String key : expired) {
+            Blob blob = merged.blobs.remove(key);
+            index.blobs.remove(key);
+            try {
+                Files.deleteIfExists(Path.of(STORE_PATH, blob.file));
+            } catch (IOException e) {
+                LogsUtils.warn("Failed to delete expired screenshot " + blob.file + ": " + e.getMessage());
+            }
+        }
+        merged.aliases.values().removeAll(expired);
+        index.aliases.values().removeAll(expired);
+        return expired.size();
+    }
+
+    // 9x8 grayscale thumbnail, one bit per horizontally adjacent pair: set when the left pixel is brighter
+    private static long dHash(BufferedImage image) {
+        BufferedImage thumbnail = new BufferedImage(9, 8, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, 9, 8, null);
+        } finally {
+            graphics.dispose();
+        }
+        long hash = 0;
+        for (int y = 0; y < 8; y++)
+            for (int x = 0; x < 8; x++)
+                hash = hash << 1 | (thumbnail.getRaster().getSample(x, y, 0) > thumbnail.getRaster().getSample(x + 1, y, 0) ? 1 : 0);
+        return hash;
+    }
+
+    private static byte[] encode(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("png").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (RECOMPRESS && param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(0.0f); // deflate level 9; PNG stays lossless
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] content, String variant) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(content);
+            digest.update(variant.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Index load() {
+        Path file = Path.of(STORE_PATH, "index.json");
+        if (!Files.exists(file))
+            return new Index();
+        try {
+            Index loaded = gson.fromJson(Files.readString(file), Index.class);
+            return loaded != null && loaded.blobs != null && loaded.aliases != null ? loaded : new Index();
+        } catch (IOException | RuntimeException e) {
+            LogsUtils.warn("Ignoring unreadable screenshot store index: " + e.getMessage());
+            return new Index();
+        }
+    }
+}
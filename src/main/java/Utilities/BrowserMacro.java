@@ -0,0 +1,272 @@
+package Utilities;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Runs a sequence of page-object steps (click, type, wait-for, read-text) inside the page: consecutive in-page
+ * steps are sent as one executeAsyncScript instead of one WebDriver round-trip each, and the script returns a log
+ * per step. Every element step first waits for its element to be visible, like the Utility actions.
+ * <p>
+ * In-page clicks and typing are DOM events, not real input. Steps that need real input use
+ * {@link #nativeClick}/{@link #nativeType}, and an in-page step that fails (element missing, not visible, script
+ * error) is retried through the regular Utility action before the macro continues. A click that navigates away must
+ * be the last in-page step before a native step or the end: it is fired after the log has been returned.
+ */
+public class BrowserMacro {
+    private static final long STEP_TIMEOUT_MS = Long.getLong("macro.stepTimeoutMillis", 5000);
+    // Stays under the driver's default 30 s script timeout
+    private static final long SEGMENT_BUDGET_MS = Long.getLong("macro.segmentBudgetMillis", 25000);
+
+    // Log entry per step: [ok, ms, detail]; stops at the first failed step
+    private static final String RUN_STEPS =
+            "var steps = arguments[0], budgetEnd = Date.now() + arguments[1], done = arguments[arguments.length - 1];" +
+            "var log = [], i = 0;" +
+            "function find(using, value) {" +
+            "  switch (using) {" +
+            "    case 'css selector': return document.querySelector(value);" +
+            "    case 'xpath': return document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+            "    case 'tag name': return document.getElementsByTagName(value)[0] || null;" +
+            "    case 'link text': case 'partial link text':" +
+            "      var links = document.getElementsByTagName('a');" +
+            "      for (var k = 0; k < links.length; k++) {" +
+            "        var t = links[k].innerText.trim();" +
+            "        if (using === 'link text' ? t === value : t.indexOf(value) >= 0) return links[k];" +
+            "      }" +
+            "      return null;" +
+            "  }" +
+            "  throw new Error('unsupported locator strategy ' + using);" +
+            "}" +
+            "function visible(el) {" +
+            "  if (!el.getClientRects().length) return false;" +
+            "  var style = getComputedStyle(el);" +
+            "  return style.visibility !== 'hidden' && style.opacity !== '0';" +
+            "}" +
+            "function normalise(text) {" +
+            "  return text.replace(/\\u00a0/g, ' ').split('\\n')" +
+            "      .map(function (line) { return line.replace(/[ \\t\\f\\r]+/g, ' ').trim(); })" +
+            "      .filter(function (line) { return line.length; }).join('\\n');" +
+            "}" +
+            "function next() {" +
+            "  if (i >= steps.length) return done(log);" +
+            "  var step = steps[i], started = performance.now(), deadline = Math.min(Date.now() + step[4], budgetEnd);" +
+            "  function finish(ok, detail) {" +
+            "    log.push([ok, performance.now() - started, detail]);" +
+            "    if (!ok) return done(log);" +
+            "    i++;" +
+            "    setTimeout(next, 0);" +
+            "  }" +
+            "  (function poll() {" +
+            "    try {" +
+            "      var el = find(step[1], step[2]);" +
+            "      if (!el || !visible(el)) {" +
+            "        if (Date.now() < deadline) return setTimeout(poll, 50);" +
+            "        return finish(false, el ? 'not visible' : 'not found');" +
+            "      }" +
+            "      switch (step[0]) {" +
+            "        case 'waitFor': return finish(true, null);" +
+            "        case 'readText': return finish(true, normalise(el.innerText));" +
+            "        case 'type':" +
+            "          el.focus();" +
+            "          el.value = el.value + step[3];" +
+            "          el.dispatchEvent(new Event('input', {bubbles: true}));" +
+            "          el.dispatchEvent(new Event('change', {bubbles: true}));" +
+            "          return finish(true, null);" +
+            "        case 'click':" +
+            "          if (i === steps.length - 1) {" +
+            "            log.push([true, performance.now() - started, 'fired after return']);" +
+            "            done(log);" +
+            "            return setTimeout(function () { el.click(); }, 0);" +
+            "          }" +
+            "          el.click();" +
+            "          return finish(true, null);" +
+            "      }" +
+            "      finish(false, 'unknown step ' + step[0]);" +
+            "    } catch (e) {" +
+            "      finish(false, 'error: ' + e.message);" +
+            "    }" +
+            "  })();" +
+            "}" +
+            "next();";
+
+    private enum Kind {CLICK, TYPE, WAIT_FOR, READ_TEXT}
+
+    private record Step(Kind kind, By locator, String text, String name, boolean nativeOnly) {
+    }
+
+    /**
+     * One executed step; {@code mode} is "page" or "webdriver" (native step or fallback).
+     */
+    public record StepLog(int index, String step, By locator, String mode, double millis, String detail) {
+    }
+
+    /**
+     * Step log plus texts read by {@link #readText} steps, by name.
+     */
+    public record Result(List<StepLog> steps, Map<String, String> texts, int roundTrips) {
+
+        public String text(String name) {
+            return texts.get(name);
+        }
+    }
+
+    private final WebDriver driver;
+    private final List<Step> steps = new ArrayList<>();
+
+    private BrowserMacro(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    public static BrowserMacro on(WebDriver driver) {
+        return new BrowserMacro(driver);
+    }
+
+    public BrowserMacro click(By locator) {
+        return add(new Step(Kind.CLICK, locator, null, null, false));
+    }
+
+    // Appends to the field's value and fires input/change, like sendKeys without key events
+    public BrowserMacro type(By locator, String text) {
+        return add(new Step(Kind.TYPE, locator, text, null, false));
+    }
+
+    public BrowserMacro waitFor(By locator) {
+        return add(new Step(Kind.WAIT_FOR, locator, null, null, false));
+    }
+
+    public BrowserMacro readText(String name, By locator) {
+        return add(new Step(Kind.READ_TEXT, locator, null, name, false));
+    }
+
+    // Real WebDriver click (hover menus, drag handles, anything listening for pointer events)
+    public BrowserMacro nativeClick(By locator) {
+        return add(new Step(Kind.CLICK, locator, null, null, true));
+    }
+
+    public BrowserMacro nativeType(By locator, String text) {
+        return add(new Step(Kind.TYPE, locator, text, null, true));
+    }
+
+    public Result run() {
+        List<StepLog> log = new ArrayList<>();
+        Map<String, String> texts = new LinkedHashMap<>();
+        int roundTrips = 0;
+        int index = 0;
+        CommandStats.begin("macro");
+        try {
+            while (index < steps.size()) {
+                int end = index;
+                while (end < steps.size() && inPage(steps.get(end)))
+                    end++;
+
+                if (end > index) {
+                    List<Step> segment = steps.subList(index, end);
+                    List<List<Object>> entries = runInPage(segment);
+                    roundTrips++;
+                    int completed = 0;
+                    for (List<Object> entry : entries) {
+                        if (!Boolean.TRUE.equals(entry.get(0)))
+                            break;
+                        Step step = segment.get(completed);
+                        String detail = (String) entry.get(2);
+                        log.add(new StepLog(index + completed, describe(step), step.locator(), "page", ((Number) entry.get(1)).doubleValue(), detail));
+                        if (step.kind() == Kind.READ_TEXT)
+                            texts.put(step.name(), detail);
+                        completed++;
+                    }
+                    if (completed == segment.size()) {
+                        index = end;
+                        continue;
+                    }
+                    String reason = completed < entries.size() ? (String) entries.get(completed).get(2) : "no result";
+                    index += completed;
+                    LogsUtils.warn("Macro step " + index + " (" + describe(steps.get(index)) + " " + steps.get(index).locator()
+                            + ") failed in page: " + reason + " >> retrying through WebDriver");
+                }
+
+                // Native step, or the in-page step that just failed
+                Step step = steps.get(index);
+                long start = System.nanoTime();
+                String detail = runNative(step);
+                log.add(new StepLog(index, describe(step), step.locator(), "webdriver", (System.nanoTime() - start) / 1e6, detail));
+                if (step.kind() == Kind.READ_TEXT)
+                    texts.put(step.name(), detail);
+                index++;
+            }
+        } finally {
+            CommandStats.end();
+        }
+
+        long fallbacks = log.stream().filter(entry -> entry.mode().equals("webdriver")).count();
+        LogsUtils.info("Macro ran " + log.size() + " steps in " + roundTrips + " in-page round-trip(s), "
+                + fallbacks + " through WebDriver: " + log.stream()
+                .map(entry -> entry.step() + "@" + entry.mode() + " " + String.format("%.0f ms", entry.millis()))
+                .collect(Collectors.joining(", ")));
+        return new Result(List.copyOf(log), texts, roundTrips);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Object>> runInPage(List<Step> segment) {
+        List<List<Object>> parameters = new ArrayList<>();
+        for (Step step : segment) {
+            By.Remotable.Parameters remote = ((By.Remotable) step.locator()).getRemoteParameters();
+            parameters.add(List.of(scriptName(step.kind()), remote.using(), remote.value(),
+                    step.text() == null ? "" : step.text(), STEP_TIMEOUT_MS));
+        }
+        return (List<List<Object>>) ((JavascriptExecutor) driver).executeAsyncScript(RUN_STEPS, parameters, SEGMENT_BUDGET_MS);
+    }
+
+    private String runNative(Step step) {
+        return switch (step.kind()) {
+            case CLICK -> {
+                Utility.clickingOnElement(driver, step.locator());
+                yield null;
+            }
+            case TYPE -> {
+                Utility.sendData(driver, step.locator(), step.text());
+                yield null;
+            }
+            case WAIT_FOR -> {
+                Utility.findWebElement(driver, step.locator());
+                yield null;
+            }
+            case READ_TEXT -> Utility.getText(driver, step.locator());
+        };
+    }
+
+    // In-page only for locators the script can resolve
+    private static boolean inPage(Step step) {
+        if (step.nativeOnly() || !(step.locator() instanceof By.Remotable remotable))
+            return false;
+        By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+        return parameters.value() instanceof String && switch (parameters.using()) {
+            case "css selector", "xpath", "tag name", "link text", "partial link text" -> true;
+            default -> false;
+        };
+    }
+
+    private static String scriptName(Kind kind) {
+        return switch (kind) {
+            case CLICK -> "click";
+            case TYPE -> "type";
+            case WAIT_FOR -> "waitFor";
+            case READ_TEXT -> "readText";
+        };
+    }
+
+    private static String describe(Step step) {
+        return (step.nativeOnly() ? "native " : "") + scriptName(step.kind()) + (step.name() != null ? " " + step.name() : "");
+    }
+
+    private BrowserMacro add(Step step) {
+        steps.add(step);
+        return this;
+    }
+}
@@ -0,0 +1,57 @@
+package Utilities;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Per-thread count of WebDriver wire commands, attributed to the Utility action that issued them
+ * (click, sendData, getText, ...). Commands are recorded by the HTTP filter DriverFactory installs on every
+ * local driver; commands outside any action are reported as "other".
+ */
+public class CommandStats {
+    private static final ThreadLocal<Stats> threadStats = ThreadLocal.withInitial(Stats::new);
+
+    // Called once per HTTP command sent to the driver service
+    public static void record() {
+        Stats stats = threadStats.get();
+        String action = stats.actions.isEmpty() ? "other" : stats.actions.peekLast();
+        stats.counts.computeIfAbsent(action, k -> new long[2])[1]++;
+    }
+
+    // Nested actions (e.g. scrolling >> findWebElement) are attributed to the outermost one
+    public static void begin(String action) {
+        Stats stats = threadStats.get();
+        if (stats.actions.isEmpty())
+            stats.counts.computeIfAbsent(action, k -> new long[2])[0]++;
+        stats.actions.addLast(stats.actions.isEmpty() ? action : stats.actions.peekLast());
+    }
+
+    public static void end() {
+        threadStats.get().actions.pollLast();
+    }
+
+    // "click: 12 actions / 41 commands, getText: 3 actions / 9 commands, other: 7 commands"
+    public static String report() {
+        return threadStats.get().counts.entrySet().stream()
+                .map(entry -> entry.getKey().equals("other")
+                        ? "other: " + entry.getValue()[1] + " commands"
+                        : entry.getKey() + ": " + entry.getValue()[0] + " actions / " + entry.getValue()[1] + " commands")
+                .collect(Collectors.joining(", "));
+    }
+
+    public static long total() {
+        return threadStats.get().counts.values().stream().mapToLong(count -> count[1]).sum();
+    }
+
+    public static void reset() {
+        threadStats.get().counts.clear();
+    }
+
+    private static class Stats {
+        private final Deque<String> actions = new ArrayDeque<>();
+        private final Map<String, long[]> counts = new LinkedHashMap<>(); // action >> {actions, commands}
+    }
+}
@@ -0,0 +1,119 @@
+package Utilities;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the text and visibility of many named locators in one executeScript round-trip instead of one
+ * findElement + getText pair per label. Text follows WebDriver's getText rules closely enough for label and
+ * price assertions: hidden elements read as "", whitespace is collapsed per line.
+ * <p>
+ * Locators that cannot be resolved in the page (relative locators, custom {@link By} implementations) fall back
+ * to regular findElements calls.
+ */
+public class DomText {
+    private static final String READ_ALL =
+            "function find(using, value) {" +
+            "  switch (using) {" +
+            "    case 'css selector': return document.querySelector(value);" +
+            "    case 'xpath': return document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+            "    case 'tag name': return document.getElementsByTagName(value)[0] || null;" +
+            "    case 'link text': case 'partial link text':" +
+            "      var links = document.getElementsByTagName('a');" +
+            "      for (var i = 0; i < links.length; i++) {" +
+            "        var t = links[i].innerText.trim();" +
+            "        if (using === 'link text' ? t === value : t.indexOf(value) >= 0) return links[i];" +
+            "      }" +
+            "      return null;" +
+            "  }" +
+            "  throw new Error('unsupported locator strategy ' + using);" +
+            "}" +
+            "function displayed(el) {" +
+            "  if (!el.getClientRects().length) return false;" +
+            "  var style = getComputedStyle(el);" +
+            "  return style.visibility !== 'hidden' && style.opacity !== '0';" +
+            "}" +
+            "function normalise(text) {" +
+            "  return text.replace(/\\u00a0/g, ' ').split('\\n')" +
+            "      .map(function (line) { return line.replace(/[ \\t\\f\\r]+/g, ' ').trim(); })" +
+            "      .filter(function (line) { return line.length; }).join('\\n');" +
+            "}" +
+            "return arguments[0].map(function (locator) {" +
+            "  try {" +
+            "    var el = find(locator[0], locator[1]);" +
+            "    if (!el) return [false, false, ''];" +
+            "    var visible = displayed(el);" +
+            "    return [true, visible, visible ? normalise(el.innerText) : ''];" +
+            "  } catch (e) {" +
+            "    return [false, false, 'error: ' + e.message];" +
+            "  }" +
+            "});";
+
+    /**
+     * One element's state at read time; {@code text} is "" when the element is missing or hidden.
+     */
+    public record Snapshot(boolean found, boolean displayed, String text) {
+        public static final Snapshot MISSING = new Snapshot(false, false, "");
+    }
+
+    // Name >> snapshot, in the order of the given map
+    @SuppressWarnings("unchecked")
+    public static Map<String, Snapshot> read(WebDriver driver, Map<String, By> locators) {
+        CommandStats.begin("readTexts");
+        try {
+            List<String> scripted = new ArrayList<>();
+            List<List<Object>> parameters = new ArrayList<>();
+            for (Map.Entry<String, By> entry : locators.entrySet()) {
+                By.Remotable.Parameters remote = remoteParameters(entry.getValue());
+                if (remote != null) {
+                    scripted.add(entry.getKey());
+                    parameters.add(List.of(remote.using(), remote.value()));
+                }
+            }
+
+            Map<String, Snapshot> fromScript = new LinkedHashMap<>();
+            if (!parameters.isEmpty()) {
+                List<List<Object>> results = (List<List<Object>>) ((JavascriptExecutor) driver).executeScript(READ_ALL, parameters);
+                for (int i = 0; i < scripted.size(); i++) {
+                    List<Object> result = results.get(i);
+                    fromScript.put(scripted.get(i), new Snapshot((Boolean) result.get(0), (Boolean) result.get(1), (String) result.get(2)));
+                }
+            }
+
+            Map<String, Snapshot> snapshots = new LinkedHashMap<>();
+            locators.forEach((name, locator) -> snapshots.put(name,
+                    fromScript.containsKey(name) ? fromScript.get(name) : readDirectly(driver, locator)));
+            return snapshots;
+        } finally {
+            CommandStats.end();
+        }
+    }
+
+    private static Snapshot readDirectly(WebDriver driver, By locator) {
+        List<WebElement> elements = driver.findElements(locator);
+        if (elements.isEmpty())
+            return Snapshot.MISSING;
+        WebElement element = elements.get(0);
+        boolean displayed = element.isDisplayed();
+        return new Snapshot(true, displayed, displayed ? element.getText() : "");
+    }
+
+    // Only the W3C strategies the script understands; By.className/id/name already map to css selectors
+    private static By.Remotable.Parameters remoteParameters(By locator) {
+        if (!(locator instanceof By.Remotable remotable))
+            return null;
+        By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+        return switch (parameters.using()) {
+            case "css selector", "xpath", "tag name", "link text", "partial link text" ->
+                    parameters.value() instanceof String ? parameters : null;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,91 @@
+package Utilities;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Recognises storefront/admin error pages (Magento exception report, 404, maintenance, gateway errors) so a
+ * {@link WaitEngine} wait can stop at once instead of polling for its element until the timeout.
+ * <p>
+ * Signatures, all overridable:
+ * <ul>
+ *     <li>{@code -Derror.page.titles}: regex the whole (trimmed) document title must match, case-sensitively, so a
+ *     product or CMS page that merely mentions "maintenance" or "page not found" is not taken for an error</li>
+ *     <li>{@code -Derror.page.selectors}: CSS selector of known error containers</li>
+ *     <li>{@code -Derror.page.texts}: regex matched against the start of the body text</li>
+ *     <li>{@code -Derror.page.statuses}: HTTP statuses of the main document, as seen over CDP by {@link NetworkIdle}
+ *     or otherwise from the Navigation Timing entry</li>
+ * </ul>
+ * All checks run in a single executeScript.
+ */
+public class ErrorPageDetector {
+    private static final String TITLES = System.getProperty("error.page.titles",
+            "404 Not Found|Page [Nn]ot [Ff]ound|There has been an error processing your request|Service Temporarily Unavailable"
+                    + "|502 Bad Gateway|503 Service Unavailable|504 Gateway Time-out|Error 50\\d(: .*)?");
+    private static final String SELECTORS = System.getProperty("error.page.selectors",
+            "body.cms-noroute-index, body.cms-no-route, #maintenance, .page-error, .error-report");
+    private static final String TEXTS = System.getProperty("error.page.texts",
+            "Error log record number|Exception printing is disabled by default|SQLSTATE\\[");
+    private static final Set<Integer> STATUSES = Arrays.stream(System.getProperty("error.page.statuses", "404,500,502,503,504")
+            .split(",")).map(String::trim).filter(status -> !status.isEmpty()).map(Integer::valueOf).collect(Collectors.toSet());
+
+    // [url, reason or null, navigation response status or 0]
+    private static final String DETECT =
+            "var url = location.href, reason = null;" +
+            "if (arguments[0] && new RegExp('^(?:' + arguments[0] + ')$').test(document.title.trim())) reason = 'title \"' + document.title + '\"';" +
+            "if (!reason && arguments[1]) {" +
+            "  var container = document.querySelector(arguments[1]);" +
+            "  if (container) reason = 'error container ' + container.tagName.toLowerCase()" +
+            "      + (container.id ? '#' + container.id : '') + (container.className ? '.' + String(container.className).trim().split(/\\s+/).join('.') : '');" +
+            "}" +
+            "if (!reason && arguments[2] && document.body) {" +
+            "  var match = document.body.innerText.slice(0, 5000).match(new RegExp(arguments[2], 'i'));" +
+            "  if (match) reason = 'page text \"' + match[0] + '\"';" +
+            "}" +
+            "var nav = performance.getEntriesByType && performance.getEntriesByType('navigation')[0];" +
+            "return [url, reason, nav && nav.responseStatus ? nav.responseStatus : 0];";
+
+    private static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty("error.page.check", "true"));
+
+    /**
+     * Diagnostic for the error page the driver is showing, or null when the page looks normal.
+     */
+    public static String detect(WebDriver driver) {
+        if (!ENABLED || !(driver instanceof JavascriptExecutor js))
+            return null;
+        List<?> result;
+        try {
+            result = (List<?>) js.executeScript(DETECT, TITLES, SELECTORS, TEXTS);
+        } catch (WebDriverException e) {
+            return null; // document being replaced, alert open, ... >> not evidence of an error page
+        }
+        String url = (String) result.get(0);
+        Integer status = NetworkIdle.documentStatus(driver, url);
+        if (status == null && result.get(2) instanceof Number navigationStatus && navigationStatus.intValue() > 0)
+            status = navigationStatus.intValue();
+
+        String reason = (String) result.get(1);
+        if (reason == null && status != null && STATUSES.contains(status))
+            reason = "HTTP " + status;
+        if (reason == null)
+            return null;
+        return "Error page at " + url + ": " + reason + (status != null && !reason.startsWith("HTTP") ? " (HTTP " + status + ")" : "");
+    }
+
+    /**
+     * Thrown by waits that ran into an error page instead of waiting out their timeout.
+     */
+    public static class ErrorPageException extends WebDriverException {
+        private static final long serialVersionUID = 1L;
+
+        public ErrorPageException(String diagnostic, String waitingFor) {
+            super(diagnostic + " while waiting for " + waitingFor);
+        }
+    }
+}
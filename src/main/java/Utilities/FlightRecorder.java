@@ -0,0 +1,213 @@
+package Utilities;
+
+import io.qameta.allure.Allure;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Per-test ring buffer of the last {@code -Dflight.recorder.steps} (20) Utility/page actions, kept in memory and
+ * written out only when the test fails ({@link #flush}); passing tests {@link #discard} it.
+ * <p>
+ * Each step holds the action, locator and outcome, which costs no browser command. A DOM digest (URL, title,
+ * element count, body text length, DOM mutations since the document loaded, focused element, and the console
+ * errors / uncaught exceptions collected since the previous digest) is taken in one executeScript only for a
+ * failing step and every {@code -Dflight.recorder.digestEvery} (10) steps (0: failures only). Its commands are
+ * counted under their own "flight-recorder" bucket in {@link CommandStats}, not under the action.
+ * <p>
+ * On Chromium the collecting hook is registered with Page.addScriptToEvaluateOnNewDocument for a driver's first
+ * recorded tab, and for any tab a digest finds without it, so it runs before any page script and errors thrown
+ * while a page loads are kept; elsewhere the digest installs it as a fallback. With
+ * {@code -Dflight.recorder.thumbnails=true} digest steps keep a viewport screenshot too, downscaled only when
+ * flushed. Disabled with {@code -Dflight.recorder=false}.
+ */
+public class FlightRecorder {
+    public static String FLIGHT_RECORDER_PATH = "test-outputs/flight-recorder";
+
+    private static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty("flight.recorder", "true"));
+    private static final int STEPS = Integer.getInteger("flight.recorder.steps", 20);
+    private static final int DIGEST_EVERY = Integer.getInteger("flight.recorder.digestEvery", 10);
+    private static final boolean THUMBNAILS = Boolean.getBoolean("flight.recorder.thumbnails");
+    private static final int THUMBNAIL_WIDTH = Integer.getInteger("flight.recorder.thumbnailWidth", 320);
+
+    // Console errors, uncaught exceptions and a DOM mutation counter; runs once per document
+    private static final String HOOK =
+            "if (!window.__flightRecorder) {" +
+            "  var buffer = window.__flightRecorder = [];" +
+            "  window.__flightRecorderMutations = 0;" +
+            "  var original = console.error;" +
+            "  console.error = function () {" +
+            "    if (buffer.length < 100) buffer.push('console.error: ' + Array.prototype.map.call(arguments, String).join(' ').slice(0, 500));" +
+            "    return original.apply(console, arguments);" +
+            "  };" +
+            "  window.addEventListener('error', function (e) {" +
+            "    if (buffer.length < 100) buffer.push('uncaught: ' + (e.message || (e.target && (e.target.src || e.target.href)) || 'error'));" +
+            "  }, true);" +
+            "  window.addEventListener('unhandledrejection', function (e) { if (buffer.length < 100) buffer.push('unhandled rejection: ' + e.reason); });" +
+            "  new MutationObserver(function (records) { window.__flightRecorderMutations += records.length; })" +
+            "      .observe(document, {childList: true, subtree: true, attributes: true, characterData: true});" +
+            "}";
+
+    // [url, title, elements, text length, mutations, focused element, errors since last digest, hook was missing]
+    private static final String DIGEST =
+            "var missing = !window.__flightRecorder;" +
+            HOOK +
+            "var active = document.activeElement, focused = active && active !== document.body" +
+            "    ? active.tagName.toLowerCase() + (active.id ? '#' + active.id : '') + (active.name ? '[name=' + active.name + ']' : '') : null;" +
+            "return [location.href, document.title, document.getElementsByTagName('*').length," +
+            "    document.body ? document.body.textContent.length : 0, window.__flightRecorderMutations, focused," +
+            "    window.__flightRecorder.splice(0), missing];";
+
+    private static final ThreadLocal<Deque<Step>> buffer = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<int[]> stepCount = ThreadLocal.withInitial(() -> new int[1]);
+    private static final Set<WebDriver> hooked = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private record Step(LocalTime time, String action, By locator, String outcome, List<?> digest, byte[] screenshot) {
+
+        String describe(int index) {
+            StringBuilder text = new StringBuilder(String.format("#%d %s %s %s >> %s\n", index, time, action,
+                    locator == null ? "" : locator, outcome));
+            if (digest == null) // passing step between digests
+                return text.toString();
+            text.append("    url: ").append(digest.get(0)).append('\n')
+                    .append("    title: ").append(digest.get(1)).append('\n')
+                    .append("    dom: ").append(digest.get(2)).append(" elements, text ").append(digest.get(3))
+                    .append(" chars, ").append(digest.get(4)).append(" mutations").append('\n');
+            if (digest.get(5) != null)
+                text.append("    focus: ").append(digest.get(5)).append('\n');
+            for (Object error : (List<?>) digest.get(6))
+                text.append("    ").append(error).append('\n');
+            return text.toString();
+        }
+    }
+
+    // New test on this thread
+    public static void start() {
+        buffer.get().clear();
+        stepCount.remove();
+    }
+
+    // Called after every action, outside its CommandStats bracket; never fails the action it records
+    public static void record(WebDriver driver, String action, By locator, Throwable failure) {
+        if (!ENABLED || driver == null)
+            return;
+        int step = ++stepCount.get()[0];
+        List<?> digest = null;
+        byte[] screenshot = null;
+        if (failure != null || (DIGEST_EVERY > 0 && step % DIGEST_EVERY == 0) || !hooked.contains(driver)) {
+            CommandStats.begin("flight-recorder");
+            try {
+                if (hooked.add(driver))
+                    hookNewDocuments(driver);
+                if (failure != null || (DIGEST_EVERY > 0 && step % DIGEST_EVERY == 0)) {
+                    digest = (List<?>) ((JavascriptExecutor) driver).executeScript(DIGEST);
+                    if (Boolean.TRUE.equals(digest.get(7)))
+                        hookNewDocuments(driver);
+                    if (THUMBNAILS)
+                        screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+                }
+            } catch (WebDriverException | ClassCastException e) {
+                // browser busy, alert open, session gone: keep the step without its digest
+            } finally {
+                CommandStats.end();
+            }
+        }
+        String outcome = failure == null ? "ok" : failure.getClass().getSimpleName() + ": " + firstLine(failure.getMessage());
+        Deque<Step> steps = buffer.get();
+        steps.addLast(new Step(LocalTime.now(), action, locator, outcome, digest, screenshot));
+        while (steps.size() > STEPS)
+            steps.pollFirst();
+    }
+
+    // Tab without the hook: register it for every later document of the tab, ahead of the page's own scripts
+    private static void hookNewDocuments(WebDriver driver) {
+        if (driver instanceof HasCdp cdp)
+            cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Map.of("source", HOOK));
+    }
+
+    public static void discard() {
+        buffer.remove();
+        stepCount.remove();
+    }
+
+    // Writes the buffered steps (and thumbnails) to disk and Allure; returns the directory, or null when empty
+    public static Path flush(String testName) {
+        Deque<Step> steps = buffer.get();
+        if (steps.isEmpty())
+            return null;
+        Path directory = Path.of(FLIGHT_RECORDER_PATH, testName + "-" + Utility.getTimeStamp());
+        StringBuilder report = new StringBuilder("Last " + steps.size() + " steps of " + testName + "\n\n");
+        try {
+            Files.createDirectories(directory);
+            int index = 1;
+            for (Step step : steps) {
+                report.append(step.describe(index));
+                if (step.screenshot() != null) {
+                    byte[] thumbnail = thumbnail(step.screenshot());
+                    String name = String.format("step-%02d-%s.png", index, step.action());
+                    Files.write(directory.resolve(name), thumbnail);
+                    Allure.addAttachment("flight-recorder " + name, "image/png", new ByteArrayInputStream(thumbnail), "png");
+                }
+                index++;
+            }
+            Files.writeString(directory.resolve("steps.txt"), report);
+            Allure.addAttachment("flight-recorder", report.toString());
+            LogsUtils.info("Flight recorder for " + testName + " written to " + directory);
+            return directory;
+        } catch (IOException e) {
+            LogsUtils.warn("Failed to write flight recorder for " + testName + ": " + e.getMessage());
+            Allure.addAttachment("flight-recorder", report.toString());
+            return null;
+        } finally {
+            buffer.remove();
+            stepCount.remove();
+        }
+    }
+
+    private static byte[] thumbnail(byte[] png) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null || image.getWidth() <= THUMBNAIL_WIDTH)
+            return png;
+        int height = Math.max(1, image.getHeight() * THUMBNAIL_WIDTH / image.getWidth());
+        BufferedImage thumbnail = new BufferedImage(THUMBNAIL_WIDTH, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, THUMBNAIL_WIDTH, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(thumbnail, "png", out);
+        return out.toByteArray();
+    }
+
+    private static String firstLine(String message) {
+        if (message == null)
+            return "";
+        int newline = message.indexOf('\n');
+        return newline < 0 ? message : message.substring(0, newline);
+    }
+}
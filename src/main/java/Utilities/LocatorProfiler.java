@@ -0,0 +1,247 @@
+package Utilities;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.stream.Collectors;
+
+/**
+ * Profiling mode for locators ({@code -Dlocator.profile=true}): every {@code By} field of the Pages.* classes,
+ * plus locators tests {@link #register}, is resolved {@code -Dlocator.profile.iterations} (20) times inside the
+ * page and reported with its mean resolution time and match count. Timing runs in the browser in one
+ * executeScript per page, so the numbers compare selector cost without the wire round-trip on top.
+ * <p>
+ * Pages are profiled as they become ready ({@link #profile(WebDriver, Object)}, from BasePage.waitUntilReady on
+ * openUrl and page navigation), every test method ends with {@link #profileAll(WebDriver)} on the page it left the
+ * browser on, results are merged per locator and {@link #writeReport()} writes the slowest and the non-unique ones
+ * to {@link #REPORT_PATH}.
+ */
+public class LocatorProfiler {
+    public static String REPORT_PATH = "test-outputs/locator-profile";
+
+    private static final boolean ENABLED = Boolean.getBoolean("locator.profile");
+    private static final int ITERATIONS = Integer.getInteger("locator.profile.iterations", 20);
+    private static final int TOP = Integer.getInteger("locator.profile.top", 25);
+
+    // [matches, mean ms per resolution, error]; matches -1 when the locator failed to evaluate
+    private static final String PROFILE =
+            "function count(using, value) {" +
+            "  switch (using) {" +
+            "    case 'css selector': return document.querySelectorAll(value).length;" +
+            "    case 'xpath': return document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null).snapshotLength;" +
+            "    case 'tag name': return document.querySelectorAll(value).length;" +
+            "    case 'link text': case 'partial link text':" +
+            "      return Array.prototype.filter.call(document.getElementsByTagName('a'), function (a) {" +
+            "        var t = a.innerText.trim(); return using === 'link text' ? t === value : t.indexOf(value) >= 0;" +
+            "      }).length;" +
+            "  }" +
+            "  throw new Error('unsupported locator strategy ' + using);" +
+            "}" +
+            "var iterations = arguments[1];" +
+            "return arguments[0].map(function (locator) {" +
+            "  try {" +
+            "    var matches = count(locator[0], locator[1]);" +
+            "    var start = performance.now();" +
+            "    for (var i = 0; i < iterations; i++) count(locator[0], locator[1]);" +
+            "    return [matches, (performance.now() - start) / iterations, null];" +
+            "  } catch (e) {" +
+            "    return [-1, 0, e.message];" +
+            "  }" +
+            "});";
+
+    private static final Map<String, By> registry = new ConcurrentHashMap<>();
+    private static final Map<String, Result> results = new ConcurrentHashMap<>();
+
+    /**
+     * One locator's measurement; {@code source} is the page class simple name or "registry".
+     */
+    public record Result(String source, String name, By locator, String page, int matches, double meanMillis,
+                         String error) {
+
+        String describe() {
+            String state = error != null ? "ERROR " + error
+                    : matches == 0 ? "no match" : matches + (matches == 1 ? " match" : " matches");
+            return String.format("%8.3f ms  %-14s %s.%s  %s  (on %s)", meanMillis, state, source, name, locator, page);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    // Test-side locators that should be profiled along with the page objects
+    public static void register(String name, By locator) {
+        registry.put(name, locator);
+    }
+
+    // Profiles the By fields of one page object against the page currently loaded
+    public static List<Result> profile(WebDriver driver, Object page) {
+        Map<String, By> locators = new LinkedHashMap<>();
+        byFields(page.getClass(), page).forEach((name, locator) -> locators.put(page.getClass().getSimpleName() + "." + name, locator));
+        return run(driver, locators);
+    }
+
+    // Every Pages.* class plus the registry against the page currently loaded
+    public static List<Result> profileAll(WebDriver driver) {
+        Map<String, By> locators = new LinkedHashMap<>();
+        for (Class<?> pageClass : pageClasses()) {
+            Object page = instantiate(pageClass);
+            if (page != null)
+                byFields(pageClass, page).forEach((name, locator) -> locators.put(pageClass.getSimpleName() + "." + name, locator));
+        }
+        registry.forEach((name, locator) -> locators.put("registry." + name, locator));
+        return run(driver, locators);
+    }
+
+    public static String report() {
+        List<Result> all = new ArrayList<>(results.values());
+        StringBuilder report = new StringBuilder("Locator profile: " + all.size() + " locators, "
+                + ITERATIONS + " resolutions each\n\nSlowest:\n");
+        all.stream().sorted(Comparator.comparingDouble(Result::meanMillis).reversed()).limit(TOP)
+                .forEach(result -> report.append("  ").append(result.describe()).append('\n'));
+        report.append("\nNot unique (more than one match):\n");
+        all.stream().filter(result -> result.matches() > 1).sorted(Comparator.comparingInt(Result::matches).reversed())
+                .forEach(result -> report.append("  ").append(result.describe()).append('\n'));
+        report.append("\nNever matched on a profiled page / failed:\n");
+        all.stream().filter(result -> result.matches() <= 0)
+                .sorted(Comparator.comparing(Result::source).thenComparing(Result::name))
+                .forEach(result -> report.append("  ").append(result.describe()).append('\n'));
+        return report.toString();
+    }
+
+    public static void writeReport() {
+        if (!ENABLED || results.isEmpty())
+            return;
+        try {
+            Path file = Path.of(REPORT_PATH, "locator-profile-" + Utility.getTimeStamp() + ".txt");
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, report());
+            LogsUtils.info("Locator profile written to " + file);
+        } catch (IOException e) {
+            LogsUtils.warn("Failed to write locator profile: " + e.getMessage());
+        }
+    }
+
+    private static List<Result> run(WebDriver driver, Map<String, By> locators) {
+        List<String> names = new ArrayList<>();
+        List<List<Object>> parameters = new ArrayList<>();
+        locators.forEach((name, locator) -> {
+            if (locator instanceof By.Remotable remotable && remotable.getRemoteParameters().value() instanceof String) {
+                names.add(name);
+                parameters.add(List.of(remotable.getRemoteParameters().using(), remotable.getRemoteParameters().value()));
+            } else {
+                LogsUtils.warn("Locator profiler skips " + name + ": " + locator + " cannot be resolved in the page");
+            }
+        });
+        if (names.isEmpty())
+            return List.of();
+
+        String page = driver.getCurrentUrl();
+        @SuppressWarnings("unchecked")
+        List<List<Object>> measured = (List<List<Object>>) ((JavascriptExecutor) driver).executeScript(PROFILE, parameters, ITERATIONS);
+        List<Result> profiled = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            List<Object> values = measured.get(i);
+            String name = names.get(i);
+            int dot = name.indexOf('.');
+            Result result = new Result(name.substring(0, dot), name.substring(dot + 1), locators.get(name), page,
+                    ((Number) values.get(0)).intValue(), ((Number) values.get(1)).doubleValue(), (String) values.get(2));
+            profiled.add(result);
+            results.merge(name, result, LocatorProfiler::moreTelling);
+        }
+        LogsUtils.info("Profiled " + profiled.size() + " locators on " + page + "; slowest: " + profiled.stream()
+                .sorted(Comparator.comparingDouble(Result::meanMillis).reversed()).limit(3)
+                .map(result -> result.name() + " " + String.format("%.3f ms", result.meanMillis()))
+                .collect(Collectors.joining(", ")));
+        return profiled;
+    }
+
+    // A measurement on a page where the locator matched beats one where it did not; then the slower one wins
+    private static Result moreTelling(Result previous, Result current) {
+        if ((previous.matches() > 0) != (current.matches() > 0))
+            return current.matches() > 0 ? current : previous;
+        return current.meanMillis() > previous.meanMillis() ? current : previous;
+    }
+
+    private static Map<String, By> byFields(Class<?> type, Object instance) {
+        Map<String, By> locators = new LinkedHashMap<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!By.class.isAssignableFrom(field.getType()))
+                    continue;
+                try {
+                    field.setAccessible(true);
+                    Object value = field.get(Modifier.isStatic(field.getModifiers()) ? null : instance);
+                    if (value != null)
+                        locators.putIfAbsent(field.getName(), (By) value);
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    LogsUtils.warn("Cannot read locator " + current.getSimpleName() + "." + field.getName() + ": " + e.getMessage());
+                }
+            }
+        }
+        return locators;
+    }
+
+    // Page objects only store the driver in their constructor, so a null driver is enough to read field locators
+    private static Object instantiate(Class<?> pageClass) {
+        if (Modifier.isAbstract(pageClass.getModifiers()))
+            return null;
+        try {
+            Constructor<?> constructor = pageClass.getConstructor(WebDriver.class);
+            return constructor.newInstance((WebDriver) null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LogsUtils.warn("Locator profiler cannot instantiate " + pageClass.getName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static List<Class<?>> pageClasses() {
+        List<Class<?>> classes = new ArrayList<>();
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        try {
+            Enumeration<URL> roots = loader.getResources("Pages");
+            while (roots.hasMoreElements()) {
+                URL root = roots.nextElement();
+                List<String> classNames = new ArrayList<>();
+                if ("jar".equals(root.getProtocol())) {
+                    Enumeration<JarEntry> entries = ((JarURLConnection) root.openConnection()).getJarFile().entries();
+                    while (entries.hasMoreElements()) {
+                        String entry = entries.nextElement().getName();
+                        if (entry.startsWith("Pages/") && entry.endsWith(".class") && entry.indexOf('/', 6) < 0)
+                            classNames.add(entry.substring(6, entry.length() - 6));
+                    }
+                } else {
+                    File[] files = new File(root.toURI()).listFiles((dir, file) -> file.endsWith(".class"));
+                    if (files != null)
+                        for (File file : files)
+                            classNames.add(file.getName().substring(0, file.getName().length() - 6));
+                }
+                for (String className : classNames)
+                    if (!className.contains("$"))
+                        classes.add(Class.forName("Pages." + className, false, loader));
+            }
+        } catch (IOException | URISyntaxException | ClassNotFoundException e) {
+            LogsUtils.warn("Failed to list page classes: " + e.getMessage());
+        }
+        return classes;
+    }
+}
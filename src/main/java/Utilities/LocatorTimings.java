@@ -0,0 +1,161 @@
+package Utilities;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import org.openqa.selenium.By;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * How long each locator took to resolve in Utility waits, persisted across runs in {@link #TIMINGS_PATH}.
+ * Once a locator has {@code -Dwait.adaptive.minSamples} (10) successful samples its timeout becomes
+ * p99 × {@code -Dwait.adaptive.factor} (3), kept between {@code -Dwait.adaptive.minSeconds} (5) and the default
+ * wait timeout, so a missing fast element fails in seconds while known slow ones keep their headroom.
+ * Disabled with {@code -Dwait.adaptive=false}.
+ * <p>
+ * A wait that times out is stored as a timeout sample (a negative value in the file), not as a latency: it never
+ * enters the p99, but every timeout since the locator last resolved widens its timeout by
+ * {@code -Dwait.adaptive.timeoutStep} (1.5×), up to the default. A learned timeout that is too short therefore
+ * grows back step by step instead of failing for good, and one genuinely missing element does not push the
+ * locator to the full default for the next 200 waits.
+ */
+public class LocatorTimings {
+    public static String TIMINGS_PATH = Utility.CACHE_PATH + "/wait-stats/locator-timings.json";
+
+    private static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty("wait.adaptive", "true"));
+    private static final int MIN_SAMPLES = Integer.getInteger("wait.adaptive.minSamples", 10);
+    private static final double FACTOR = Double.parseDouble(System.getProperty("wait.adaptive.factor", "3"));
+    private static final double TIMEOUT_STEP = Double.parseDouble(System.getProperty("wait.adaptive.timeoutStep", "1.5"));
+    private static final Duration FLOOR = Duration.ofSeconds(Long.getLong("wait.adaptive.minSeconds", 5));
+    private static final int MAX_SAMPLES = 200;
+
+    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private static final Map<String, Deque<Long>> samples = new ConcurrentHashMap<>(load());
+    // samples taken by this run and not yet saved; save() appends them to what is on disk
+    private static final Map<String, Deque<Long>> unsaved = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(LocatorTimings::save, "locator-timings-save"));
+    }
+
+    // Time until the locator was ready
+    public static void record(By locator, Duration elapsed) {
+        add(locator.toString(), Math.max(0, elapsed.toMillis()));
+    }
+
+    // The wait gave up after elapsed; widens the next timeout instead of counting as a latency
+    public static void recordTimeout(By locator, Duration elapsed) {
+        add(locator.toString(), -Math.max(1, elapsed.toMillis()));
+    }
+
+    // Learned timeout for the locator, or the default until enough history exists
+    public static Duration timeoutFor(By locator) {
+        Duration cap = WaitEngine.defaults().timeout();
+        if (!ENABLED)
+            return cap;
+        long p99 = p99Millis(locator);
+        if (p99 < 0)
+            return cap;
+        double learned = Math.max(p99 * FACTOR, FLOOR.toMillis()) * Math.pow(TIMEOUT_STEP, timeoutsSinceLastSuccess(locator));
+        return learned >= cap.toMillis() ? cap : Duration.ofMillis((long) Math.ceil(learned));
+    }
+
+    public static WaitEngine.Spec specFor(By locator) {
+        return WaitEngine.defaults().withTimeout(timeoutFor(locator));
+    }
+
+    // p99 of the successful samples; -1 while the locator has fewer than the minimum of them
+    public static long p99Millis(By locator) {
+        Deque<Long> history = samples.get(locator.toString());
+        if (history == null)
+            return -1;
+        long[] sorted;
+        synchronized (history) {
+            sorted = history.stream().mapToLong(Long::longValue).filter(millis -> millis >= 0).toArray();
+        }
+        if (sorted.length < MIN_SAMPLES)
+            return -1;
+        Arrays.sort(sorted);
+        return sorted[(int) Math.ceil(sorted.length * 0.99) - 1];
+    }
+
+    // This run's samples appended to each locator's history as other runs left it on disk, newest kept
+    public static synchronized void save() {
+        if (unsaved.isEmpty())
+            return;
+        Map<String, Deque<Long>> merged = new HashMap<>(load());
+        for (String locator : unsaved.keySet()) {
+            Deque<Long> taken = unsaved.remove(locator);
+            Deque<Long> history = merged.computeIfAbsent(locator, k -> new ArrayDeque<>());
+            history.addAll(taken);
+            while (history.size() > MAX_SAMPLES)
+                history.pollFirst();
+        }
+        try {
+            Path file = Path.of(TIMINGS_PATH);
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), "locator-timings", ".tmp");
+            Files.writeString(temp, gson.toJson(merged));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LogsUtils.warn("Failed to save locator timings: " + e.getMessage());
+        }
+    }
+
+    private static void add(String locator, long sample) {
+        Deque<Long> history = samples.computeIfAbsent(locator, k -> new ArrayDeque<>());
+        synchronized (history) {
+            history.addLast(sample);
+            while (history.size() > MAX_SAMPLES)
+                history.pollFirst();
+        }
+        // atomic per key against save() taking the pending samples
+        unsaved.compute(locator, (k, pending) -> {
+            Deque<Long> taken = pending == null ? new ArrayDeque<>() : pending;
+            taken.addLast(sample);
+            return taken;
+        });
+    }
+
+    private static int timeoutsSinceLastSuccess(By locator) {
+        Deque<Long> history = samples.get(locator.toString());
+        if (history == null)
+            return 0;
+        int timeouts = 0;
+        synchronized (history) {
+            for (var newest = history.descendingIterator(); newest.hasNext() && newest.next() < 0; )
+                timeouts++;
+        }
+        return timeouts;
+    }
+
+    private static Map<String, Deque<Long>> load() {
+        Path file = Path.of(TIMINGS_PATH);
+        if (!Files.exists(file))
+            return Map.of();
+        try {
+            Map<String, List<Long>> stored = gson.fromJson(Files.readString(file),
+                    new TypeToken<Map<String, List<Long>>>() {
+                    }.getType());
+            Map<String, Deque<Long>> loaded = new HashMap<>();
+            if (stored != null)
+                stored.forEach((locator, history) -> loaded.put(locator, new ArrayDeque<>(history)));
+            return loaded;
+        } catch (IOException | RuntimeException e) {
+            LogsUtils.warn("Ignoring unreadable locator timings: " + e.getMessage());
+            return Map.of();
+        }
+    }
+}
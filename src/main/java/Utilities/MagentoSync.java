@@ -0,0 +1,220 @@
+package Utilities;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Condition-based synchronisation for the Magento storefront and admin, replacing fixed Thread.sleep calls.
+ * Every check is a single executeScript per poll through the thread's {@link WaitEngine}.
+ */
+public class MagentoSync {
+    private static final long DOM_QUIET_MS = Long.getLong("sync.domQuietMillis", 300);
+    private static final Duration NAVIGATION_START = Duration.ofMillis(Long.getLong("sync.navigationStartMillis", 1000));
+
+    // Flags the document once a navigation away from it starts (link click, form submit, location change)
+    private static final String NAVIGATION_HOOK =
+            "if (!window.__syncNavigationHook) {" +
+            "  window.__syncNavigationHook = true;" +
+            "  window.addEventListener('beforeunload', function () { window.__syncLeaving = true; });" +
+            "}";
+
+    // [document identity, navigation away started]
+    private static final String NAVIGATION_STATE = NAVIGATION_HOOK +
+            "return [String(performance.timeOrigin), !!window.__syncLeaving];";
+
+    // readyState, jQuery ajax, pending RequireJS modules, visible Magento loaders/spinners; null when idle
+    private static final String BUSY_REASON = NAVIGATION_HOOK +
+            "var d = document;" +
+            "if (d.readyState !== 'complete') return 'document ' + d.readyState;" +
+            "if (window.jQuery && jQuery.active > 0) return jQuery.active + ' jQuery request(s)';" +
+            "if (window.require && require.s && require.s.contexts && require.s.contexts._) {" +
+            "  var registry = require.s.contexts._.registry;" +
+            "  for (var name in registry)" +
+            "    if (registry.hasOwnProperty(name) && registry[name].enabled && !registry[name].error) return 'RequireJS module ' + name;" +
+            "}" +
+            "if (d.body && d.body.classList.contains('ajax-loading')) return 'body.ajax-loading';" +
+            "var loaders = d.querySelectorAll('.loading-mask, [data-role=\"loader\"], .loader, #checkout-loader, .admin__data-grid-loading-mask, .spinner');" +
+            "for (var i = 0; i < loaders.length; i++)" +
+            "  if (loaders[i].getClientRects().length && getComputedStyle(loaders[i]).visibility !== 'hidden') return 'loader ' + (loaders[i].id || loaders[i].className);" +
+            "return null;";
+
+    // Installs a MutationObserver once per document; true when nothing changed for arguments[0] ms
+    private static final String DOM_QUIET =
+            "if (!window.__syncObserver) {" +
+            "  window.__syncLastMutation = Date.now();" +
+            "  window.__syncObserver = new MutationObserver(function () { window.__syncLastMutation = Date.now(); });" +
+            "  window.__syncObserver.observe(document.documentElement, {childList: true, subtree: true, attributes: true, characterData: true});" +
+            "  return false;" +
+            "}" +
+            "return Date.now() - window.__syncLastMutation >= arguments[0];";
+
+    // Magento customer-data is the source of truth; the header counter is the fallback
+    private static final String MINICART_COUNT =
+            "try {" +
+            "  var cart = JSON.parse(localStorage.getItem('mage-cache-storage') || '{}').cart;" +
+            "  if (cart && cart.summary_count !== undefined) return cart.summary_count;" +
+            "} catch (e) {}" +
+            "var counter = document.querySelector('.minicart-wrapper .counter-number');" +
+            "return counter ? (parseInt(counter.textContent.trim(), 10) || 0) : 0;";
+
+    private static final String CHECKOUT_STEP =
+            "var step = arguments[0];" +
+            "if (window.location.hash !== '#' + step) return false;" +
+            "var content = document.querySelector(step === 'payment' ? '#checkout-payment-method-load' : '#checkout-step-' + step);" +
+            "return !!(content && content.getClientRects().length);";
+
+    // Page fully loaded, no ajax/RequireJS in flight, no loader visible and the DOM has stopped changing;
+    // a navigation the previous action started is followed to the new document first
+    public static void settle(WebDriver driver) {
+        settle(driver, spec());
+    }
+
+    /**
+     * For actions that may load another page: the document identity ({@code performance.timeOrigin}) is taken
+     * before {@code action} runs, and the page only counts as settled once the navigation it started has replaced
+     * the document. Actions that stay on the page cost at most {@code -Dsync.navigationStartMillis} (1000) extra.
+     */
+    public static void settleAfter(WebDriver driver, Runnable action) {
+        String before = documentId(navigationState(driver));
+        action.run();
+        try {
+            WaitEngine.forDriver(driver).until(condition("navigation to start", d -> {
+                List<?> state = navigationState(d);
+                return !before.equals(documentId(state)) || leaving(state);
+            }), spec().withTimeout(NAVIGATION_START));
+        } catch (TimeoutException e) {
+            // same document and nothing unloading: the action stayed on this page
+        }
+        settle(driver, spec());
+    }
+
+    public static void waitForIdle(WebDriver driver) {
+        waitForIdle(driver, spec());
+    }
+
+    private static void settle(WebDriver driver, WaitEngine.Spec spec) {
+        List<?> state = navigationState(driver);
+        if (leaving(state))
+            waitForNewDocument(driver, documentId(state), spec);
+        waitForIdle(driver, spec);
+        WaitEngine.forDriver(driver).until(condition("DOM quiet for " + DOM_QUIET_MS + " ms",
+                d -> Boolean.TRUE.equals(js(d).executeScript(DOM_QUIET, DOM_QUIET_MS))), spec);
+    }
+
+    private static void waitForIdle(WebDriver driver, WaitEngine.Spec spec) {
+        WaitEngine.forDriver(driver).until(condition("Magento page idle",
+                d -> js(d).executeScript(BUSY_REASON) == null), spec);
+    }
+
+    // A navigation can be cancelled after beforeunload (download, 204 response) >> give up and stay on the old document
+    private static void waitForNewDocument(WebDriver driver, String previous, WaitEngine.Spec spec) {
+        try {
+            WaitEngine.forDriver(driver).until(condition("navigation to replace the document",
+                    d -> !previous.equals(documentId(navigationState(d)))), spec);
+        } catch (TimeoutException e) {
+            LogsUtils.warn("Navigation started but never replaced the document at " + driver.getCurrentUrl());
+            js(driver).executeScript("window.__syncLeaving = false;");
+        }
+    }
+
+    public static int minicartCount(WebDriver driver) {
+        return ((Number) js(driver).executeScript(MINICART_COUNT)).intValue();
+    }
+
+    // After add-to-cart: wait for the customer-data cart section to report a different item count
+    public static void waitForMinicartChange(WebDriver driver, int previousCount) {
+        WaitEngine.forDriver(driver).until(condition("minicart count to change from " + previousCount,
+                d -> minicartCount(d) != previousCount), spec());
+        waitForIdle(driver);
+    }
+
+    public static void addToCart(WebDriver driver, Runnable clickAddToCart) {
+        int before = minicartCount(driver);
+        clickAddToCart.run();
+        waitForMinicartChange(driver, before);
+    }
+
+    // Checkout step transition ("shipping" or "payment"): hash switched, step content rendered, loaders gone
+    public static void waitForCheckoutStep(WebDriver driver, String step) {
+        WaitEngine.forDriver(driver).until(condition("checkout step " + step,
+                d -> Boolean.TRUE.equals(js(d).executeScript(CHECKOUT_STEP, step))), spec());
+        waitForIdle(driver);
+    }
+
+    // Order number from the checkout success page (logged-in link or guest text variant)
+    public static String orderNumberFromSuccessPage(WebDriver driver) {
+        return Utility.getText(driver, By.cssSelector(".checkout-success .order-number strong, .checkout-success p > span"))
+                .replaceAll("\\D", "");
+    }
+
+    // Orders reach the admin grid through asynchronous indexing >> refresh until the order shows up
+    public static void waitForAdminGridRow(WebDriver driver, String text, Duration timeout) {
+        untilAfterRefresh(driver, condition("admin grid row containing " + text,
+                d -> d.findElement(By.cssSelector(".admin__data-grid-wrap tbody")).getText().contains(text)),
+                timeout, Duration.ofSeconds(10));
+    }
+
+    /**
+     * For state another system produces later (e.g. an order reaching the asynchronously indexed admin grid):
+     * reload the page every {@code interval} until the condition holds or {@code timeout} runs out.
+     */
+    public static <V> V untilAfterRefresh(WebDriver driver, Function<WebDriver, V> condition,
+                                          Duration timeout, Duration interval) {
+        boolean[] firstPoll = {true};
+        // each attempt settles within one interval; a page that is still busy counts as "not yet", not a failure
+        return WaitEngine.forDriver(driver).until(d -> {
+            if (!firstPoll[0])
+                d.navigate().refresh();
+            firstPoll[0] = false;
+            settle(d, spec().withTimeout(interval));
+            return condition.apply(d);
+        }, spec().ignoring(TimeoutException.class).withTimeout(timeout).withPolling(interval));
+    }
+
+    // Scripts can hit a document that is being replaced mid-navigation >> treat as "not yet"
+    private static WaitEngine.Spec spec() {
+        return WaitEngine.defaults().ignoring(JavascriptException.class);
+    }
+
+    // Unknown identity while the old document is being torn down, which differs from any real one
+    private static List<?> navigationState(WebDriver driver) {
+        try {
+            return (List<?>) js(driver).executeScript(NAVIGATION_STATE);
+        } catch (JavascriptException e) {
+            return List.of("", false);
+        }
+    }
+
+    private static String documentId(List<?> navigationState) {
+        return String.valueOf(navigationState.get(0));
+    }
+
+    private static boolean leaving(List<?> navigationState) {
+        return Boolean.TRUE.equals(navigationState.get(1));
+    }
+
+    private static JavascriptExecutor js(WebDriver driver) {
+        return (JavascriptExecutor) driver;
+    }
+
+    private static <V> Function<WebDriver, V> condition(String description, Function<WebDriver, V> check) {
+        return new Function<>() {
+            @Override
+            public V apply(WebDriver driver) {
+                return check.apply(driver);
+            }
+
+            @Override
+            public String toString() {
+                return description;
+            }
+        };
+    }
+}
@@ -0,0 +1,239 @@
+package Utilities;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.v131.network.Network;
+import org.openqa.selenium.devtools.v131.network.model.ResourceType;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Event-driven "network is quiet" waits over CDP: tracks in-flight requests from Network.requestWillBeSent /
+ * loadingFinished / loadingFailed for the current tab and waits until nothing matching a URL filter has been
+ * in flight or completed for a quiet window, counted from the action (or the wait) start. Non-Chromium drivers
+ * fall back to {@link MagentoSync#settle}.
+ * <p>
+ * The CDP listeners are registered once per browser and forward to its current tracker, so switching tabs or
+ * stopping never clears listeners other code added to the same DevTools connection.
+ * <p>
+ * Requests in flight longer than {@code -Dnetwork.idle.maxRequestMillis} (default 20000) are treated as
+ * long-polls and no longer block the wait. The tracker also remembers the HTTP status of recent document
+ * responses for {@link ErrorPageDetector}.
+ */
+public class NetworkIdle {
+    // Magento storefront/checkout XHRs: REST API, customer-data sections, cart/checkout controllers
+    public static final Predicate<String> MAGENTO_AJAX = url -> url.contains("/rest/")
+            || url.contains("/customer/section/load") || url.contains("/checkout/") || url.contains("/cart/");
+    public static final Predicate<String> ANY = url -> true;
+
+    private static final long MAX_REQUEST_NANOS = Duration.ofMillis(Long.getLong("network.idle.maxRequestMillis", 20000)).toNanos();
+    private static final int HISTORY_SIZE = 500;
+    private static final Set<ResourceType> NEVER_FINISH = Set.of(ResourceType.WEBSOCKET, ResourceType.EVENTSOURCE);
+
+    private static final Map<WebDriver, Tracker> trackers = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, Dispatch> dispatchers = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // Start (or re-attach to the current tab) tracking; idempotent, call before the action
+    public static boolean track(WebDriver driver) {
+        if (!(driver instanceof HasDevTools devToolsDriver))
+            return false;
+        String handle = driver.getWindowHandle();
+        Tracker tracker = trackers.get(driver);
+        if (tracker != null && tracker.windowHandle.equals(handle))
+            return true;
+
+        try {
+            DevTools devTools = devToolsDriver.getDevTools();
+            if (tracker != null)
+                devTools.disconnectSession(); // the previous tab's requests must not count for this one
+            devTools.createSession(handle);
+            Tracker fresh = new Tracker(handle);
+            dispatchers.computeIfAbsent(driver, d -> listen(devTools)).tracker = fresh;
+            devTools.send(Network.enable(Optional.empty(), Optional.empty(), Optional.empty()));
+            trackers.put(driver, fresh);
+            return true;
+        } catch (WebDriverException e) {
+            LogsUtils.warn("Network idle tracking unavailable: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public static void stop(WebDriver driver) {
+        if (trackers.remove(driver) == null)
+            return;
+        Dispatch dispatch = dispatchers.get(driver);
+        if (dispatch != null)
+            dispatch.tracker = null;
+        try {
+            ((HasDevTools) driver).getDevTools().send(Network.disable());
+        } catch (WebDriverException e) {
+            LogsUtils.warn("Failed to stop network idle tracking: " + e.getMessage());
+        }
+    }
+
+    // HTTP status CDP saw for the document at this URL in the tracked tab, or null if it was not observed
+    public static Integer documentStatus(WebDriver driver, String url) {
+        Tracker tracker = trackers.get(driver);
+        return tracker == null ? null : tracker.documentStatus(withoutFragment(url));
+    }
+
+    public static void waitForQuiet(WebDriver driver, Duration quiet) {
+        waitForQuiet(driver, quiet, ANY);
+    }
+
+    // No matching request in flight and none started or finished during the last {@code quiet}
+    public static void waitForQuiet(WebDriver driver, Duration quiet, Predicate<String> urlFilter) {
+        waitForQuiet(driver, quiet, urlFilter, System.nanoTime());
+    }
+
+    // Track, run the action, then wait for its XHRs to settle; the quiet window starts when the action does
+    public static void afterAction(WebDriver driver, Runnable action, Duration quiet, Predicate<String> urlFilter) {
+        boolean tracked = track(driver);
+        long actionStart = System.nanoTime();
+        action.run();
+        if (tracked)
+            waitForQuiet(driver, quiet, urlFilter, actionStart);
+        else
+            MagentoSync.settle(driver);
+    }
+
+    // Quiet means {@code quiet} has passed since both {@code since} and the last matching request activity
+    private static void waitForQuiet(WebDriver driver, Duration quiet, Predicate<String> urlFilter, long since) {
+        Tracker tracker = trackers.get(driver);
+        if (tracker == null || !tracker.windowHandle.equals(driver.getWindowHandle())) {
+            MagentoSync.settle(driver);
+            return;
+        }
+        Duration polling = Duration.ofMillis(Math.max(50, Math.min(quiet.toMillis() / 2, 250)));
+        WaitEngine.forDriver(driver).until(new Function<WebDriver, Boolean>() {
+            @Override
+            public Boolean apply(WebDriver d) {
+                return tracker.isQuiet(quiet.toNanos(), urlFilter, since);
+            }
+
+            @Override
+            public String toString() {
+                return "network quiet for " + quiet.toMillis() + " ms (in flight: " + tracker.inFlight(urlFilter) + ")";
+            }
+        }, WaitEngine.defaults().withPolling(polling));
+    }
+
+    // The browser's Network listeners, added once; events go to whichever tracker is current (none after stop)
+    private static Dispatch listen(DevTools devTools) {
+        Dispatch dispatch = new Dispatch();
+        devTools.addListener(Network.requestWillBeSent(), request -> {
+            Tracker tracker = dispatch.tracker;
+            if (tracker == null || request.getType().map(NEVER_FINISH::contains).orElse(false))
+                return;
+            String url = request.getRequest().getUrl();
+            if (!url.startsWith("data:"))
+                tracker.started(request.getRequestId().toString(), url);
+        });
+        devTools.addListener(Network.responseReceived(), received -> {
+            Tracker tracker = dispatch.tracker;
+            if (tracker != null && received.getType() == ResourceType.DOCUMENT)
+                tracker.documentLoaded(received.getResponse().getUrl(), received.getResponse().getStatus());
+        });
+        devTools.addListener(Network.loadingFinished(), finished -> {
+            Tracker tracker = dispatch.tracker;
+            if (tracker != null)
+                tracker.ended(finished.getRequestId().toString());
+        });
+        devTools.addListener(Network.loadingFailed(), failed -> {
+            Tracker tracker = dispatch.tracker;
+            if (tracker != null)
+                tracker.ended(failed.getRequestId().toString());
+        });
+        return dispatch;
+    }
+
+    private static String withoutFragment(String url) {
+        int hash = url.indexOf('#');
+        return hash < 0 ? url : url.substring(0, hash);
+    }
+
+    private static class Tracker {
+        private final String windowHandle;
+        private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+        private final Deque<Activity> history = new ConcurrentLinkedDeque<>();
+        private final Map<String, Integer> documentStatuses = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+                return size() > 50;
+            }
+        };
+
+        Tracker(String windowHandle) {
+            this.windowHandle = windowHandle;
+        }
+
+        void started(String requestId, String url) {
+            inFlight.put(requestId, new InFlight(url, System.nanoTime()));
+            remember(url);
+        }
+
+        void ended(String requestId) {
+            InFlight request = inFlight.remove(requestId);
+            if (request != null)
+                remember(request.url());
+        }
+
+        void documentLoaded(String url, int status) {
+            synchronized (documentStatuses) {
+                documentStatuses.remove(withoutFragment(url));
+                documentStatuses.put(withoutFragment(url), status);
+            }
+        }
+
+        Integer documentStatus(String url) {
+            synchronized (documentStatuses) {
+                return documentStatuses.get(url);
+            }
+        }
+
+        boolean isQuiet(long quietNanos, Predicate<String> urlFilter, long since) {
+            long now = System.nanoTime();
+            if (now - since < quietNanos)
+                return false;
+            boolean busy = inFlight.values().stream()
+                    .anyMatch(request -> now - request.startedAt() < MAX_REQUEST_NANOS && urlFilter.test(request.url()));
+            if (busy)
+                return false;
+            return history.stream()
+                    .noneMatch(activity -> now - activity.at() < quietNanos && urlFilter.test(activity.url()));
+        }
+
+        long inFlight(Predicate<String> urlFilter) {
+            return inFlight.values().stream().filter(request -> urlFilter.test(request.url())).count();
+        }
+
+        private void remember(String url) {
+            history.addFirst(new Activity(url, System.nanoTime()));
+            while (history.size() > HISTORY_SIZE)
+                history.pollLast();
+        }
+    }
+
+    private static class Dispatch {
+        volatile Tracker tracker;
+    }
+
+    private record InFlight(String url, long startedAt) {
+    }
+
+    private record Activity(String url, long at) {
+    }
+}
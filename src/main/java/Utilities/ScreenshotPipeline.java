@@ -0,0 +1,144 @@
+package Utilities;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.firefox.HasFullPageScreenshot;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Full-page screenshots in one round-trip on the test thread: Chromium pages are captured with a single CDP
+ * {@code Page.captureScreenshot} (captureBeyondViewport), Firefox with its native full-page screenshot. Decoding,
+ * highlighting and storing in the {@link ArtifactStore} run on a bounded background executor
+ * ({@code -Dscreenshot.threads}, 2, with a queue of {@code -Dscreenshot.queue}, 8; a full queue makes the caller do
+ * the work), and the Allure attachment reserved on the test thread is linked to the stored blob.
+ */
+public class ScreenshotPipeline {
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            Integer.getInteger("screenshot.threads", 2), Integer.getInteger("screenshot.threads", 2),
+            30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(Integer.getInteger("screenshot.queue", 8)),
+            runnable -> {
+                Thread thread = new Thread(runnable, "screenshot-writer-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+
+    // Element box in page coordinates plus the device pixel ratio the capture is scaled by
+    private static final String PAGE_RECT =
+            "var r = arguments[0].getBoundingClientRect();" +
+            "return [r.left + window.scrollX, r.top + window.scrollY, r.width, r.height, window.devicePixelRatio || 1];";
+
+    static {
+        executor.allowCoreThreadTimeOut(true);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(Duration.ofSeconds(30)), "screenshot-flush"));
+    }
+
+    public static CompletableFuture<Path> capture(WebDriver driver, String name) {
+        return capture(driver, name, null);
+    }
+
+    // Completes with the stored blob; the Allure attachment is reserved now and linked once the blob is stored
+    public static CompletableFuture<Path> capture(WebDriver driver, String name, By highlight) {
+        List<?> rect = highlight == null ? null : (List<?>) ((JavascriptExecutor) driver)
+                .executeScript(PAGE_RECT, Utility.findWebElement(driver, highlight));
+        Object image = fullPage(driver);
+        String attachment = reserveAttachment(name);
+
+        CompletableFuture<Path> written = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                byte[] png = image instanceof String base64 ? Base64.getDecoder().decode(base64) : (byte[]) image;
+                ArtifactStore.Entry entry = ArtifactStore.store(name, png, rect == null ? "plain" : "highlight " + rect,
+                        decoded -> rect == null ? decoded : highlight(decoded, rect));
+                if (attachment != null)
+                    ArtifactStore.linkAttachment(entry, attachment);
+                LogsUtils.info("Screenshot " + (entry.reused() ? "matches stored " : "saved successfully at: ") + entry.file());
+                written.complete(entry.file());
+            } catch (IOException | RuntimeException e) {
+                LogsUtils.error("Failed to store screenshot " + name + ": " + e.getMessage());
+                written.completeExceptionally(e);
+            }
+        });
+        return written;
+    }
+
+    // Waits for queued screenshots to reach disk (end of a test run); false if some were still pending
+    public static boolean flush(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (executor.getActiveCount() > 0 || !executor.getQueue().isEmpty()) {
+            if (System.nanoTime() > deadline)
+                return false;
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Base64 PNG from CDP (decoded off the test thread) or raw PNG bytes. Without a clip Chrome returns only the
+    // viewport even with captureBeyondViewport, so the clip spans the whole document (CSS px, device pixel ratio kept)
+    private static Object fullPage(WebDriver driver) {
+        if (driver instanceof HasCdp cdp) {
+            try {
+                Map<String, Object> metrics = cdp.executeCdpCommand("Page.getLayoutMetrics", Map.of());
+                Map<?, ?> content = (Map<?, ?>) metrics.getOrDefault("cssContentSize", metrics.get("contentSize"));
+                Map<String, Object> clip = Map.of("x", 0, "y", 0,
+                        "width", content.get("width"), "height", content.get("height"), "scale", 1);
+                return cdp.executeCdpCommand("Page.captureScreenshot",
+                        Map.of("format", "png", "captureBeyondViewport", true, "clip", clip)).get("data");
+            } catch (WebDriverException e) {
+                LogsUtils.warn("CDP screenshot failed, falling back to WebDriver: " + e.getMessage());
+            }
+        }
+        if (driver instanceof HasFullPageScreenshot firefox)
+            return firefox.getFullPageScreenshotAs(OutputType.BYTES);
+        return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES); // viewport only
+    }
+
+    private static String reserveAttachment(String name) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        if (lifecycle.getCurrentTestCaseOrStep().isEmpty())
+            return null;
+        return lifecycle.prepareAttachment(name, "image/png", "png");
+    }
+
+    private static BufferedImage highlight(BufferedImage image, List<?> rect) {
+        double scale = ((Number) rect.get(4)).doubleValue();
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(Color.RED);
+            graphics.setStroke(new BasicStroke((float) (3 * scale)));
+            graphics.drawRect((int) (((Number) rect.get(0)).doubleValue() * scale), (int) (((Number) rect.get(1)).doubleValue() * scale),
+                    (int) (((Number) rect.get(2)).doubleValue() * scale), (int) (((Number) rect.get(3)).doubleValue() * scale));
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+}
@@ -0,0 +1,192 @@
+package Utilities;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * On-disk cache of authenticated storefront sessions (cookies + localStorage + sessionStorage), keyed by account.
+ * A warm cache is restored in one batched call and validated with a single request,
+ * so the UI login only runs when the cache is cold, expired or rejected by the server.
+ * <p>
+ * The files hold live credentials, so they are kept under {@link Utility#CACHE_PATH} (outside the working tree)
+ * and, where the file system allows it, readable by the owner only.
+ */
+public class SessionCache {
+    public static final String SESSIONS_PATH = Utility.CACHE_PATH + "/sessions";
+    private static final Duration TTL = Duration.ofMinutes(Long.getLong("session.cache.ttlMinutes", 30));
+    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+
+    // Magento customer section is only populated for a logged-in customer
+    private static final String LOGGED_IN_PROBE =
+            "var done = arguments[arguments.length - 1];" +
+            "fetch('/customer/section/load/?sections=customer', {credentials: 'include'})" +
+            ".then(r => r.json()).then(j => done(!!(j.customer && j.customer.firstname)))" +
+            ".catch(() => done(false));";
+
+    public static void restoreOrLogin(WebDriver driver, String account, String baseUrl, Runnable uiLogin) {
+        if (restore(driver, account, baseUrl)) {
+            LogsUtils.info("Restored cached session for account " + mask(account));
+            return;
+        }
+        LogsUtils.info("Session cache cold for account " + mask(account) + ", logging in through the UI...");
+        uiLogin.run();
+        if (!save(driver, account))
+            LogsUtils.warn("UI login for account " + mask(account) + " did not produce a logged-in session; not cached");
+    }
+
+    public static boolean restore(WebDriver driver, String account, String baseUrl) {
+        StoredSession session = load(account);
+        if (session == null)
+            return false;
+        if (System.currentTimeMillis() - session.savedAt() > TTL.toMillis()) {
+            invalidate(account);
+            return false;
+        }
+
+        try {
+            if (!driver.getCurrentUrl().startsWith(session.origin()))
+                Utility.openUrl(driver, baseUrl);
+
+            long now = System.currentTimeMillis();
+            Utility.restoreSession(driver, session.cookies().stream()
+                    .filter(cookie -> cookie.expiry() == null || cookie.expiry() > now)
+                    .map(StoredCookie::toCookie)
+                    .collect(Collectors.toSet()));
+            ((JavascriptExecutor) driver).executeScript(
+                    "var s = arguments[0];" +
+                    "Object.keys(s.local).forEach(k => localStorage.setItem(k, s.local[k]));" +
+                    "Object.keys(s.session).forEach(k => sessionStorage.setItem(k, s.session[k]));",
+                    Map.of("local", Objects.requireNonNullElse(session.localStorage(), Map.of()),
+                            "session", Objects.requireNonNullElse(session.sessionStorage(), Map.of())));
+
+            if (!isLoggedIn(driver)) {
+                invalidate(account);
+                return false;
+            }
+            Utility.refreshPage(driver);
+            return true;
+        } catch (WebDriverException e) {
+            LogsUtils.warn("Failed to restore cached session: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Caches the session only when the server confirms it is logged in; false otherwise
+    @SuppressWarnings("unchecked")
+    public static boolean save(WebDriver driver, String account) {
+        if (!isLoggedIn(driver))
+            return false;
+        Map<String, Map<String, String>> storage = (Map<String, Map<String, String>>) ((JavascriptExecutor) driver)
+                .executeScript("return {local: Object.assign({}, localStorage), session: Object.assign({}, sessionStorage)};");
+        String origin = (String) ((JavascriptExecutor) driver).executeScript("return window.location.origin;");
+        List<StoredCookie> cookies = Utility.getAllCookies(driver).stream().map(StoredCookie::from).toList();
+
+        StoredSession session = new StoredSession(System.currentTimeMillis(), origin, cookies,
+                storage.get("local"), storage.get("session"));
+        try {
+            Path file = sessionFile(account);
+            Files.createDirectories(file.getParent());
+            restrictToOwner(file.getParent());
+            // parallel tests may log in with the same account: readers see the old or the new file, never half of one
+            Path temp = Files.createTempFile(file.getParent(), "session", ".tmp");
+            Files.writeString(temp, gson.toJson(session));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            LogsUtils.error("Failed to save session cache: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public static void invalidate(String account) {
+        try {
+            Files.deleteIfExists(sessionFile(account));
+        } catch (IOException e) {
+            LogsUtils.warn("Failed to delete session cache: " + e.getMessage());
+        }
+    }
+
+    public static boolean isLoggedIn(WebDriver driver) {
+        return Boolean.TRUE.equals(((JavascriptExecutor) driver).executeAsyncScript(LOGGED_IN_PROBE));
+    }
+
+    private static StoredSession load(String account) {
+        Path file = sessionFile(account);
+        if (!Files.exists(file))
+            return null;
+        try {
+            return gson.fromJson(Files.readString(file), StoredSession.class);
+        } catch (IOException | RuntimeException e) {
+            LogsUtils.warn("Ignoring unreadable session cache: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // temp files are already owner-only on POSIX; the directory listing should be too
+    private static void restrictToOwner(Path directory) throws IOException {
+        try {
+            Files.setPosixFilePermissions(directory, PosixFilePermissions.fromString("rwx------"));
+        } catch (UnsupportedOperationException ignored) {
+            // not a POSIX file system (Windows): the user profile directory is private already
+        }
+    }
+
+    // Account names are e-mails >> hash them so they never end up in file names
+    private static Path sessionFile(String account) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(account.getBytes(StandardCharsets.UTF_8));
+            return Path.of(SESSIONS_PATH, HexFormat.of().formatHex(digest, 0, 8) + ".json");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String mask(String account) {
+        return account.length() <= 3 ? "***" : account.substring(0, 3) + "***";
+    }
+
+    private record StoredSession(long savedAt, String origin, List<StoredCookie> cookies,
+                                 Map<String, String> localStorage, Map<String, String> sessionStorage) {
+    }
+
+    private record StoredCookie(String name, String value, String domain, String path, Long expiry,
+                                boolean secure, boolean httpOnly, String sameSite) {
+
+        static StoredCookie from(Cookie cookie) {
+            return new StoredCookie(cookie.getName(), cookie.getValue(), cookie.getDomain(), cookie.getPath(),
+                    cookie.getExpiry() == null ? null : cookie.getExpiry().getTime(),
+                    cookie.isSecure(), cookie.isHttpOnly(), cookie.getSameSite());
+        }
+
+        Cookie toCookie() {
+            return new Cookie.Builder(name, value)
+                    .domain(domain)
+                    .path(path)
+                    .expiresOn(expiry == null ? null : new Date(expiry))
+                    .isSecure(secure)
+                    .isHttpOnly(httpOnly)
+                    .sameSite(sameSite)
+                    .build();
+        }
+    }
+}
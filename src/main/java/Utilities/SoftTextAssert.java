@@ -0,0 +1,69 @@
+package Utilities;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Soft assertions over a block of page labels: every expectation is read with a single {@link DomText#read}
+ * call and {@link #verify()} reports all mismatches together instead of stopping at the first one.
+ * <pre>
+ * SoftTextAssert.on(driver)
+ *         .expect("subtotal", By.xpath("..."), "500 جنيه")
+ *         .expect("grand total", By.xpath("..."), "522 جنيه")
+ *         .verify();
+ * </pre>
+ */
+public class SoftTextAssert {
+    private final WebDriver driver;
+    private final Map<String, By> locators = new LinkedHashMap<>();
+    private final Map<String, String> expectedTexts = new LinkedHashMap<>();
+
+    private SoftTextAssert(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    public static SoftTextAssert on(WebDriver driver) {
+        return new SoftTextAssert(driver);
+    }
+
+    public SoftTextAssert expect(String name, By locator, String expectedText) {
+        if (locators.putIfAbsent(name, locator) != null)
+            throw new IllegalArgumentException("Duplicate expectation name: " + name);
+        expectedTexts.put(name, expectedText);
+        return this;
+    }
+
+    // Element present and displayed, whatever its text
+    public SoftTextAssert expectVisible(String name, By locator) {
+        return expect(name, locator, null);
+    }
+
+    public void verify() {
+        Map<String, DomText.Snapshot> snapshots = DomText.read(driver, locators);
+        List<String> failures = new ArrayList<>();
+        snapshots.forEach((name, snapshot) -> {
+            String expected = expectedTexts.get(name);
+            if (!snapshot.found())
+                failures.add(name + ": element not found (" + locators.get(name) + ")"
+                        + (snapshot.text().isEmpty() ? "" : " " + snapshot.text()));
+            else if (!snapshot.displayed())
+                failures.add(name + ": element is not displayed (" + locators.get(name) + ")");
+            else if (expected != null && !expected.equals(snapshot.text()))
+                failures.add(name + ": expected \"" + expected + "\" but was \"" + snapshot.text() + "\"");
+        });
+
+        if (failures.isEmpty()) {
+            LogsUtils.info("Verified " + snapshots.size() + " page texts");
+            return;
+        }
+        String report = failures.size() + " of " + snapshots.size() + " page texts did not match:\n  "
+                + String.join("\n  ", failures);
+        LogsUtils.error(report);
+        throw new AssertionError(report);
+    }
+}
@@ -0,0 +1,82 @@
+package Utilities;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WindowType;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Named browser tabs for multi-window flows (admin, storefront, smart-store screen), replacing indexes into
+ * {@code getWindowHandles().toArray()} whose order is not guaranteed.
+ * <p>
+ * {@link #preload(String, String)} opens a tab and starts its navigation without waiting for it, then returns to
+ * the tab the test was using, so the page loads while the test keeps working. {@link #switchTo(String)} waits for
+ * the tab to be ready only when the test actually needs it. A page renders the state that exists when it loads, so
+ * preload only once the cart, order or setting it shows is in place.
+ */
+public class TabManager {
+    private final WebDriver driver;
+    private final Map<String, String> handles = new LinkedHashMap<>();
+
+    public TabManager(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    // Gives the tab the driver is currently on a name
+    public TabManager name(String name) {
+        handles.put(name, driver.getWindowHandle());
+        return this;
+    }
+
+    // New tab in the foreground, loaded and idle
+    public TabManager open(String name, String url) {
+        driver.switchTo().newWindow(WindowType.TAB);
+        handles.put(name, driver.getWindowHandle());
+        driver.get(url);
+        MagentoSync.waitForIdle(driver);
+        return this;
+    }
+
+    // New tab that starts loading in the background; the driver stays on the current tab
+    public TabManager preload(String name, String url) {
+        String current = driver.getWindowHandle();
+        driver.switchTo().newWindow(WindowType.TAB);
+        handles.put(name, driver.getWindowHandle());
+        // script navigation returns at once, unlike driver.get which blocks until the page has loaded
+        ((JavascriptExecutor) driver).executeScript("window.location.href = arguments[0];", url);
+        driver.switchTo().window(current);
+        LogsUtils.info("Preloading tab '" + name + "' in the background");
+        return this;
+    }
+
+    // Switch to a named tab once it has finished loading
+    public TabManager switchTo(String name) {
+        driver.switchTo().window(handle(name));
+        MagentoSync.waitForIdle(driver);
+        return this;
+    }
+
+    // Tab preloaded by an earlier step of the flow, or opened now when that step did not run (test run on its own)
+    public TabManager switchToOrOpen(String name, String url) {
+        return handles.containsKey(name) ? switchTo(name) : open(name, url);
+    }
+
+    public String handle(String name) {
+        String handle = handles.get(name);
+        if (handle == null)
+            throw new NoSuchWindowException("No tab named '" + name + "'; known tabs: " + handles.keySet());
+        return handle;
+    }
+
+    // Closes the tab and returns to the first named tab that is still open
+    public void close(String name) {
+        String handle = handle(name);
+        driver.switchTo().window(handle).close();
+        handles.remove(name);
+        if (!handles.isEmpty())
+            driver.switchTo().window(handles.values().iterator().next());
+    }
+}
@@ -1,26 +1,29 @@
 package Utilities;
 
-import com.assertthat.selenium_shutterbug.core.Capture;
-import com.assertthat.selenium_shutterbug.core.Shutterbug;
 import org.openqa.selenium.*;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.io.File;
 import java.text.SimpleDateFormat;
 import java.time.Duration;
 import java.util.*;
+import java.util.function.Function;
 
 public class Utility {
-    private static final String SCREENSHOTS_PATH = "test-outputs/Screenshots/";
-    private static final ThreadLocal<WebDriverWait> threadLocalWait = new ThreadLocal<>();
+    // state kept between runs (sessions, driver manifest, wait timings, screenshot blobs) lives outside the
+    // working tree so live cookies never end up in a commit or an uploaded workspace
+    public static final String CACHE_PATH = System.getProperty("test.cache.dir",
+            System.getProperty("user.home") + File.separator + ".cache" + File.separator + "raneen-automation");
 
     public static void clickingOnElement(WebDriver driver, By locator) {
         try {
-            new WebDriverWait(driver, Duration.ofSeconds(40))
-                    .until(ExpectedConditions.elementToBeClickable(locator));
-            driver.findElement(locator).click();
+            interact(driver, "click", locator, ExpectedConditions::elementToBeClickable, element -> {
+                element.click();
+                return null;
+            });
         } catch (TimeoutException e) {
             LogsUtils.error("Failed to click on element. Locator: " + locator);
             throw e;
@@ -28,62 +31,104 @@ public class Utility {
     }
 
     public static WebElement findWebElement(WebDriver driver, By locator) {
-        new WebDriverWait(driver, Duration.ofSeconds(40))
-                .until(ExpectedConditions.visibilityOfElementLocated(locator));
-        return driver.findElement(locator);
+        return interact(driver, "find", locator, ExpectedConditions::visibilityOfElementLocated, element -> element);
+    }
+
+    public static WebElement findClickableElement(WebDriver driver, By locator) {
+        return interact(driver, "find", locator, ExpectedConditions::elementToBeClickable, element -> element);
     }
 
     public static void sendData(WebDriver driver, By locator, String data) {
-        new WebDriverWait(driver, Duration.ofSeconds(40))
-                .until(ExpectedConditions.visibilityOfElementLocated(locator));
-        driver.findElement(locator).sendKeys(data);
+        interact(driver, "sendData", locator, ExpectedConditions::visibilityOfElementLocated, element -> {
+            element.sendKeys(data);
+            return null;
+        });
     }
 
     public static String getText(WebDriver driver, By locator) {
-        new WebDriverWait(driver, Duration.ofSeconds(40))
-                .until(ExpectedConditions.visibilityOfElementLocated(locator));
-        return driver.findElement(locator).getText();
+        return interact(driver, "getText", locator, ExpectedConditions::visibilityOfElementLocated, WebElement::getText);
+    }
 
+    // Act on the element the wait already resolved (no second findElement); re-resolve only if it went stale.
+    // The wait uses the locator's learned timeout plus one grace period of the same length (at most the default);
+    // successes feed the locator's latency history, timeouts are recorded as such and widen its next timeout.
+    private static <T> T interact(WebDriver driver, String action, By locator,
+                                  Function<By, ExpectedCondition<WebElement>> condition, Function<WebElement, T> step) {
+        T result;
+        try {
+            result = waitAndAct(driver, action, locator, condition, step);
+        } catch (RuntimeException e) {
+            FlightRecorder.record(driver, action, locator, e);
+            throw e;
+        }
+        FlightRecorder.record(driver, action, locator, null); // after CommandStats.end: not counted as the action's
+        return result;
     }
 
-    public static WebDriverWait generalWait(WebDriver driver) {
-        return new WebDriverWait(driver, Duration.ofSeconds(40));
+    private static <T> T waitAndAct(WebDriver driver, String action, By locator,
+                                    Function<By, ExpectedCondition<WebElement>> condition, Function<WebElement, T> step) {
+        CommandStats.begin(action);
+        try {
+            ExpectedCondition<WebElement> ready = condition.apply(locator);
+            WaitEngine.Spec spec = LocatorTimings.specFor(locator);
+            long start = System.nanoTime();
+            WebElement element;
+            try {
+                element = WaitEngine.forDriver(driver).until(ready, spec);
+            } catch (TimeoutException e) {
+                Duration grace = min(spec.timeout(), WaitEngine.defaults().timeout().minus(spec.timeout()));
+                if (grace.isNegative() || grace.isZero()) {
+                    LocatorTimings.recordTimeout(locator, Duration.ofNanos(System.nanoTime() - start));
+                    throw e;
+                }
+                LogsUtils.warn(locator + " not ready within its learned timeout of " + spec.timeout().toMillis()
+                        + " ms (p99 " + LocatorTimings.p99Millis(locator) + " ms); granting " + grace.toMillis() + " ms more");
+                try {
+                    element = WaitEngine.forDriver(driver).until(ready, spec.withTimeout(grace));
+                } catch (TimeoutException again) {
+                    LocatorTimings.recordTimeout(locator, Duration.ofNanos(System.nanoTime() - start));
+                    throw again;
+                }
+            }
+            LocatorTimings.record(locator, Duration.ofNanos(System.nanoTime() - start));
+            try {
+                return step.apply(element);
+            } catch (StaleElementReferenceException e) {
+                return step.apply(WaitEngine.forDriver(driver).until(ready, spec));
+            }
+        } finally {
+            CommandStats.end();
+        }
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    public static WaitEngine generalWait(WebDriver driver) {
+        return WaitEngine.forDriver(driver);
     }
 
     public static void scrolling(WebDriver driver, By locator) {
-        ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView();", findWebElement(driver, locator));
+        interact(driver, "scroll", locator, ExpectedConditions::visibilityOfElementLocated, element ->
+                ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView();", element));
     }
 
     public static void selectingFromDropDown(WebDriver driver, By locator, String option) {
-        new Select(findWebElement(driver, locator)).selectByVisibleText(option);
+        interact(driver, "select", locator, ExpectedConditions::visibilityOfElementLocated, element -> {
+            new Select(element).selectByVisibleText(option);
+            return null;
+        });
     }
 
     public static String getTimeStamp() {
         return new SimpleDateFormat("yyyy-MM-dd-hh-mm-ssa").format(new Date());
     }
 
-    /* public static void takeScreenShot(WebDriver driver, String screenshotName) {
-         try {
-             // Capture screenshot using TakesScreenshot
-             File screenshotSrc = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-
-             // Save screenshot to a file if needed
-             File screenshotFile = new File(SCREENSHOTS_PATH + screenshotName + "-" + getTimeStamp() + ".png");
-             FileUtils.copyFile(screenshotSrc, screenshotFile);
-
-             // Attach the screenshot to Allure
-             Allure.addAttachment(screenshotName, Files.newInputStream(Path.of(screenshotFile.getPath())));
-         } catch (Exception e) {
-             LogsUtils.error(e.getMessage());
-         }
-     }
- */
+    // Full page with the element outlined; captured in one call, written in the background
     public static void takeFullScreenshot(WebDriver driver, By locator) {
         try {
-            Shutterbug.shootPage(driver, Capture.FULL_SCROLL)
-                    .highlight(findWebElement(driver, locator))
-                    .save(SCREENSHOTS_PATH);
-            LogsUtils.info("Screenshot saved successfully at: " + SCREENSHOTS_PATH);
+            ScreenshotPipeline.capture(driver, "full-page", locator);
         } catch (Exception e) {
             LogsUtils.error("Failed to take screenshot.");
         }
@@ -153,6 +198,26 @@ public class Utility {
     }
 
     public static void restoreSession(WebDriver driver, Set<Cookie> cookies) {
+        // Chromium: one batched CDP call instead of one addCookie round-trip per cookie
+        if (driver instanceof HasCdp cdp) {
+            List<Map<String, Object>> cdpCookies = new ArrayList<>();
+            for (Cookie cookie : cookies) {
+                Map<String, Object> cdpCookie = new HashMap<>();
+                cdpCookie.put("name", cookie.getName());
+                cdpCookie.put("value", cookie.getValue());
+                cdpCookie.put("domain", cookie.getDomain());
+                cdpCookie.put("path", cookie.getPath());
+                cdpCookie.put("secure", cookie.isSecure());
+                cdpCookie.put("httpOnly", cookie.isHttpOnly());
+                if (cookie.getSameSite() != null)
+                    cdpCookie.put("sameSite", cookie.getSameSite());
+                if (cookie.getExpiry() != null)
+                    cdpCookie.put("expires", cookie.getExpiry().getTime() / 1000.0);
+                cdpCookies.add(cdpCookie);
+            }
+            cdp.executeCdpCommand("Network.setCookies", Map.of("cookies", cdpCookies));
+            return;
+        }
         for (Cookie cookie : cookies)
             driver.manage().addCookie(cookie);
     }
@@ -184,8 +249,9 @@ public class Utility {
     }
 
     public static void waitForPageToLoad(WebDriver driver, int timeout) {
-        new WebDriverWait(driver, Duration.ofSeconds(timeout)).until(webDriver ->
-                ((JavascriptExecutor) webDriver).executeScript("return document.readyState").equals("complete")
+        WaitEngine.forDriver(driver).until(webDriver ->
+                ((JavascriptExecutor) webDriver).executeScript("return document.readyState").equals("complete"),
+                WaitEngine.defaults().withTimeout(Duration.ofSeconds(timeout))
         );
     }
 
@@ -0,0 +1,171 @@
+package Utilities;
+
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.Wait;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One reusable wait per thread and driver, replacing a {@code new WebDriverWait(driver, 40s)} per Utility call.
+ * Defaults come from {@code -Dwait.timeoutSeconds} (40) and {@code -Dwait.pollingMillis} (500), so fast and slow
+ * lanes are tuned from the command line; call sites that need something else pass a {@link Spec}.
+ * <p>
+ * Every wait records how many polls it needed ({@link #lastPolls()}), and the thread keeps running totals
+ * until {@link #resetStats()}.
+ * <p>
+ * While a condition keeps failing, the page is checked for error-page signatures at most every
+ * {@code -Derror.page.checkMillis} (1000) and the wait aborts with an {@link ErrorPageDetector.ErrorPageException}.
+ */
+public class WaitEngine implements Wait<WebDriver> {
+    private static final Spec DEFAULT_SPEC = new Spec(
+            Duration.ofSeconds(Long.getLong("wait.timeoutSeconds", 40)),
+            Duration.ofMillis(Long.getLong("wait.pollingMillis", 500)),
+            List.of(NotFoundException.class),
+            true);
+    private static final long ERROR_CHECK_NANOS = Duration.ofMillis(Long.getLong("error.page.checkMillis", 1000)).toNanos();
+
+    private static final ThreadLocal<WaitEngine> threadLocalWait = new ThreadLocal<>();
+
+    private final WebDriver driver;
+    private int lastPolls;
+    private int waits;
+    private long polls;
+
+    private WaitEngine(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    // Cached wait for this thread; rebuilt only when the thread switches to another driver
+    public static WaitEngine forDriver(WebDriver driver) {
+        WaitEngine engine = threadLocalWait.get();
+        if (engine == null || engine.driver != driver) {
+            WaitEngine previous = engine;
+            engine = new WaitEngine(driver);
+            if (previous != null) { // stats are per thread, not per driver
+                engine.waits = previous.waits;
+                engine.polls = previous.polls;
+            }
+            threadLocalWait.set(engine);
+        }
+        return engine;
+    }
+
+    public static Spec defaults() {
+        return DEFAULT_SPEC;
+    }
+
+    // "waits=12, polls=30" for this thread since the last reset
+    public static String stats() {
+        WaitEngine engine = threadLocalWait.get();
+        return engine == null ? "waits=0, polls=0" : "waits=" + engine.waits + ", polls=" + engine.polls;
+    }
+
+    public static void resetStats() {
+        WaitEngine engine = threadLocalWait.get();
+        if (engine != null) {
+            engine.waits = 0;
+            engine.polls = 0;
+        }
+    }
+
+    @Override
+    public <V> V until(Function<? super WebDriver, V> condition) {
+        return until(condition, DEFAULT_SPEC);
+    }
+
+    public <V> V until(Function<? super WebDriver, V> condition, Spec spec) {
+        long deadline = System.nanoTime() + spec.timeout().toNanos();
+        Throwable lastException = null;
+        int attempts = 0;
+        long nextErrorCheck = System.nanoTime();
+        waits++;
+        try {
+            while (true) {
+                attempts++;
+                try {
+                    V value = condition.apply(driver);
+                    if (value != null && (!(value instanceof Boolean) || Boolean.TRUE.equals(value)))
+                        return value;
+                    lastException = null;
+                } catch (Throwable e) {
+                    if (!spec.ignores(e))
+                        throw e;
+                    lastException = e;
+                }
+
+                if (spec.errorPageCheck() && System.nanoTime() >= nextErrorCheck) {
+                    String errorPage = ErrorPageDetector.detect(driver);
+                    if (errorPage != null) {
+                        LogsUtils.error(errorPage);
+                        throw new ErrorPageDetector.ErrorPageException(errorPage, condition.toString());
+                    }
+                    nextErrorCheck = System.nanoTime() + ERROR_CHECK_NANOS;
+                }
+                if (System.nanoTime() >= deadline)
+                    throw new TimeoutException("Expected condition failed: waiting for " + condition
+                            + " (tried for " + spec.timeout().toMillis() + " ms with "
+                            + spec.polling().toMillis() + " ms interval, " + attempts + " polls)", lastException);
+                sleep(spec.polling());
+            }
+        } finally {
+            lastPolls = attempts;
+            polls += attempts;
+        }
+    }
+
+    // Polls the most recent wait on this engine needed (1 = condition held immediately)
+    public int lastPolls() {
+        return lastPolls;
+    }
+
+    private static void sleep(Duration polling) {
+        try {
+            Thread.sleep(polling.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted while waiting", e);
+        }
+    }
+
+    /**
+     * Per-call-site wait settings; start from {@link WaitEngine#defaults()} and override what differs.
+     */
+    public record Spec(Duration timeout, Duration polling, List<Class<? extends Throwable>> ignored,
+                       boolean errorPageCheck) {
+
+        public Spec withTimeout(Duration timeout) {
+            return new Spec(timeout, polling, ignored, errorPageCheck);
+        }
+
+        public Spec withPolling(Duration polling) {
+            return new Spec(timeout, polling, ignored, errorPageCheck);
+        }
+
+        // For waits that expect to pass through an error page (e.g. asserting a 404)
+        public Spec withoutErrorPageCheck() {
+            return new Spec(timeout, polling, ignored, false);
+        }
+
+        public Spec ignoring(Class<? extends Throwable> exception) {
+            return ignoreAll(List.of(exception));
+        }
+
+        // Same shape as FluentWait.ignoreAll, for call sites that ignore several types
+        public Spec ignoreAll(Collection<Class<? extends Throwable>> exceptions) {
+            List<Class<? extends Throwable>> all = new ArrayList<>(ignored);
+            all.addAll(exceptions);
+            return new Spec(timeout, polling, List.copyOf(all), errorPageCheck);
+        }
+
+        boolean ignores(Throwable e) {
+            return ignored.stream().anyMatch(type -> type.isInstance(e));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package BaseApi;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Starts a UI test already authenticated: the customer logs in through the mobile API
+ * and the session cookie is injected into the test's browser before the test body runs.
+ * Credentials are read from the named environment variables.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface ApiLogin {
+    String emailEnv() default "CUSTOMER_EMAIL";
+
+    String passwordEnv() default "CUSTOMER_PASSWORD";
+}
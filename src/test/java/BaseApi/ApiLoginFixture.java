@@ -0,0 +1,86 @@
+package BaseApi;
+
+import DriverFactory.DriverFactory;
+import Utilities.LogsUtils;
+import io.restassured.response.Response;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * API-bootstrapped login for UI tests (see {@link ApiLogin}), through the same
+ * {@link BaseApiTest#loginCustomer} and {@link BaseApiTest#injectSessionIntoBrowser} the API tests use.
+ * Every browser gets its own API login: a shared PHPSESSID would share the cart and server session between
+ * parallel tests, and PHP session locking would serialise their requests.
+ */
+public class ApiLoginFixture {
+
+    // Called from the method listener before every test method
+    public static void apply(Object testInstance, Method testMethod) {
+        ApiLogin login = testMethod.getAnnotation(ApiLogin.class);
+        if (login == null)
+            login = testMethod.getDeclaringClass().getAnnotation(ApiLogin.class);
+        if (login == null)
+            return;
+
+        WebDriver driver = resolveDriver(testInstance);
+        if (driver == null)
+            throw new IllegalStateException("@ApiLogin on " + testMethod.getName() + " but no WebDriver is available");
+        loginAs(driver, requireEnv(login.emailEnv()), requireEnv(login.passwordEnv()));
+    }
+
+    public static void loginAs(WebDriver driver, String email, String password) {
+        new BrowserLogin(driver).login(email, password);
+        LogsUtils.info("Browser authenticated through the API login");
+    }
+
+    // BaseApiTest bound to a browser the UI test already owns
+    private static final class BrowserLogin extends BaseApiTest {
+        private final WebDriver browser;
+
+        private BrowserLogin(WebDriver browser) {
+            this.browser = browser;
+        }
+
+        @Override
+        protected WebDriver driver() {
+            return browser;
+        }
+
+        private void login(String email, String password) {
+            Response response = loginCustomer(email, password);
+            String sessionId = extractSessionId(response);
+            if (response.statusCode() != 200 || sessionId == null)
+                throw new IllegalStateException("API login failed with status " + response.statusCode());
+            injectSessionIntoBrowser(sessionId);
+        }
+    }
+
+    // Thread's DriverFactory driver first, otherwise the test class's own WebDriver field
+    private static WebDriver resolveDriver(Object testInstance) {
+        if (DriverFactory.getDriver() != null)
+            return DriverFactory.getDriver();
+
+        for (Class<?> type = testInstance.getClass(); type != null; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (WebDriver.class.isAssignableFrom(field.getType())) {
+                    try {
+                        field.setAccessible(true);
+                        return (WebDriver) field.get(testInstance);
+                    } catch (IllegalAccessException e) {
+                        LogsUtils.warn("Cannot read driver field " + field.getName() + ": " + e.getMessage());
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String requireEnv(String key) {
+        String v = System.getenv(key);
+        if (v == null || v.isBlank())
+            throw new IllegalStateException("Missing environment variable " + key);
+        return v.trim();
+    }
+}
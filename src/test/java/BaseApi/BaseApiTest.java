@@ -1,7 +1,8 @@
 package BaseApi;
 
-import Utils.Utility;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import DriverFactory.DriverFactory;
+import Utilities.LogsUtils;
+import Utilities.Utility;
 import io.restassured.RestAssured;
 import io.restassured.config.EncoderConfig;
 import io.restassured.http.ContentType;
@@ -9,14 +10,15 @@ import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import org.openqa.selenium.Cookie;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 
+import java.util.concurrent.CompletableFuture;
+
 public class BaseApiTest {
 
-    protected WebDriver driver;
+    // Launched in @BeforeClass when needsBrowser(), otherwise on the first driver() call
+    private CompletableFuture<WebDriver> browser;
 
     // ✅ Configurable base URL (safe default)
     protected final String baseUrl = getEnv("BASE_URL", "https://example.com");
@@ -32,8 +34,29 @@ public class BaseApiTest {
 
     @BeforeClass
     public void setup() {
+        if (needsBrowser()) {
+            synchronized (this) {
+                // Chrome starts while RestAssured is configured and the first API calls run
+                browser = CompletableFuture.supplyAsync(this::setupWebDriver);
+            }
+        }
         setupRestAssured();
-        setupWebDriver();
+    }
+
+    // Override with true in classes that use driver(): the launch then overlaps the API work before it
+    protected boolean needsBrowser() {
+        return false;
+    }
+
+    // Joins the background launch, or launches on this thread if the class did not declare needsBrowser()
+    protected WebDriver driver() {
+        CompletableFuture<WebDriver> launch;
+        synchronized (this) {
+            if (browser == null)
+                browser = CompletableFuture.completedFuture(setupWebDriver());
+            launch = browser;
+        }
+        return launch.join();
     }
 
     private void setupRestAssured() {
@@ -43,29 +66,20 @@ public class BaseApiTest {
         );
     }
 
-    private void setupWebDriver() {
-        WebDriverManager.chromedriver().setup();
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments(
-                "--headless=new",
-                "--window-size=1920,1080",
-                "--no-sandbox",
-                "--disable-dev-shm-usage",
-                "--disable-gpu",
-                "--remote-allow-origins=*",
-                "--disable-extensions"
-        );
-
-        driver = new ChromeDriver(options);
+    private WebDriver setupWebDriver() {
+        DriverFactory.resolveDriver("chrome"); // resolved once per JVM, cached on disk
+        WebDriver driver = DriverFactory.leaseDriver("chrome"); // active launch profile (-Dbrowser.profile)
         driver.manage().deleteAllCookies();
 
         // ✅ Use safe/neutral path (your public repo shouldn’t force real prod pages)
         driver.get(baseUrl);
         Utility.waitForPageToLoad(driver, 10);
+        return driver;
     }
 
     protected RequestSpecification withDefaultHeaders() {
         return RestAssured.given()
+                .baseUri(baseUrl) // also used from UI tests, where setupRestAssured never ran
                 .header("apiKey", apiKey)
                 .header("apiSecret", apiSecret)
                 .accept(ContentType.JSON);
@@ -100,6 +114,9 @@ public class BaseApiTest {
     protected void injectSessionIntoBrowser(String sessionId) {
         // ✅ Domain must match BASE_URL host. Don’t hardcode company domains.
         String host = hostFromUrl(baseUrl);
+        WebDriver driver = driver();
+        if (!driver.getCurrentUrl().contains(host))
+            driver.get(baseUrl); // cookies can only be added for the page's own domain
 
         Cookie sessionCookie = new Cookie.Builder("PHPSESSID", sessionId)
                 .domain(host)
@@ -112,8 +129,17 @@ public class BaseApiTest {
     }
 
     @AfterClass(alwaysRun = true)
-    public void tearDown() {
-        if (driver != null) driver.quit();
+    public synchronized void tearDown() {
+        if (browser == null)
+            return;
+        // never block on a launch still in flight: the browser goes back to the pool whenever it arrives
+        browser.whenComplete((driver, error) -> {
+            if (driver != null)
+                DriverFactory.returnDriver(driver);
+            else
+                LogsUtils.warn("Browser launch for " + getClass().getSimpleName() + " failed: " + error.getMessage());
+        });
+        browser = null;
     }
 
     // -------------------------
@@ -143,4 +169,4 @@ public class BaseApiTest {
         int slash = cleaned.indexOf("/");
         return (slash == -1) ? cleaned : cleaned.substring(0, slash);
     }
-}
\ No newline at end of file
+}
@@ -1,9 +1,18 @@
 package Listeners;
 
+import BaseApi.ApiLoginFixture;
+import DriverFactory.BrowserResourceUsage;
+import DriverFactory.DriverFactory;
+import DriverFactory.LaunchProfile;
+import Utilities.CommandStats;
+import Utilities.LocatorProfiler;
 import Utilities.LogsUtils;
 import Utilities.Utility;
+import Utilities.WaitEngine;
 import io.qameta.allure.Allure;
 import org.jetbrains.annotations.NotNull;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.testng.IInvokedMethod;
 import org.testng.IInvokedMethodListener;
 import org.testng.ITestContext;
@@ -16,6 +25,20 @@ import java.nio.file.Path;
 
 public class IInvokedMethodListenerClass implements IInvokedMethodListener {
 
+    public void beforeInvocation(IInvokedMethod method, @NotNull ITestResult testResult, ITestContext context) {
+        // the suite's launch profile, on the thread that may lease a driver (configuration methods included)
+        if (context.getAttribute(ITestResultListenerClass.PROFILE_ATTRIBUTE) instanceof LaunchProfile profile)
+            DriverFactory.useProfile(profile.getProfileName());
+        if (!method.isTestMethod())
+            return;
+        TestDrivers.ensureHealthy(testResult.getInstance()); // never start a test on a hung or crashed browser
+        DriverFactory.startResourceSampling(TestDrivers.of(testResult.getInstance()));
+        WaitEngine.resetStats();
+        CommandStats.reset();
+        ApiLoginFixture.apply(testResult.getInstance(),
+                method.getTestMethod().getConstructorOrMethod().getMethod()); // @ApiLogin tests start authenticated
+    }
+
     public void afterInvocation(IInvokedMethod method, @NotNull ITestResult testResult, ITestContext context) {
         //Utility.takeFullScreenshot(getDriver(), new P02_LandingPage(getDriver()).getNumberOfSelectedProductsOnCart());
         switch (testResult.getStatus()) {
@@ -30,6 +53,25 @@ public class IInvokedMethodListenerClass implements IInvokedMethodListener {
                 LogsUtils.info("Test Case " + testResult.getName() + " skipped");
                 break;
         }
+        if (method.isTestMethod()) {
+            LogsUtils.info("Test Case " + testResult.getName() + " waits: " + WaitEngine.stats());
+            LogsUtils.info("Test Case " + testResult.getName() + " WebDriver commands (" + CommandStats.total() + "): "
+                    + CommandStats.report());
+            WebDriver driver = TestDrivers.of(testResult.getInstance());
+            // every page object's locators against the page the test ended on
+            if (LocatorProfiler.isEnabled() && driver != null) {
+                try {
+                    LocatorProfiler.profileAll(driver);
+                } catch (WebDriverException e) {
+                    LogsUtils.warn("Locator profiling skipped for " + testResult.getName() + ": " + e.getMessage());
+                }
+            }
+            BrowserResourceUsage usage = DriverFactory.stopResourceSampling(driver);
+            if (usage != null && usage.samples() > 0) {
+                LogsUtils.info("Test Case " + testResult.getName() + " browser resources: " + usage.summary());
+                Allure.addAttachment("browser-resources", usage.summary());
+            }
+        }
         try {
             File logFile = Utility.getLatestFile(LogsUtils.LOGS_PATH);
             assert logFile != null;
@@ -1,37 +1,90 @@
 package Listeners;
 
+import DriverFactory.DriverFactory;
+import DriverFactory.LaunchProfile;
+import Utilities.ArtifactStore;
+import Utilities.FlightRecorder;
+import Utilities.LocatorProfiler;
+import Utilities.LocatorTimings;
 import Utilities.LogsUtils;
+import Utilities.ScreenshotPipeline;
+import io.qameta.allure.Allure;
 import org.jetbrains.annotations.NotNull;
+import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
+import java.time.Duration;
+
 public class ITestResultListenerClass implements ITestListener {
+    static final String PROFILE_ATTRIBUTE = "browser.profile";
+
+    static LaunchProfile profile(ITestContext context) {
+        Object profile = context.getAttribute(PROFILE_ATTRIBUTE);
+        return profile instanceof LaunchProfile launchProfile ? launchProfile : DriverFactory.getProfile();
+    }
+
+    @Override
+    public void onStart(@NotNull ITestContext context) {
+        // <parameter name="browser.profile" value="fast-headless"/> picks the launch profile per suite
+        // kept on the context: IInvokedMethodListenerClass applies it on whichever thread runs each method
+        String profile = context.getCurrentXmlTest().getParameter("browser.profile");
+        if (profile != null) {
+            context.setAttribute(PROFILE_ATTRIBUTE, LaunchProfile.fromName(profile));
+            DriverFactory.useProfile(profile);
+        }
+        LogsUtils.info("Test '" + context.getName() + "' using browser profile " + profile(context).getProfileName());
+    }
+
+    @Override
+    public void onFinish(@NotNull ITestContext context) {
+        long elapsed = context.getEndDate().getTime() - context.getStartDate().getTime();
+        LogsUtils.info("Test '" + context.getName() + "' finished in " + elapsed + " ms ["
+                + profile(context).launchSummary() + "]");
+        LocatorTimings.save();
+        LocatorProfiler.writeReport();
+        if (!ScreenshotPipeline.flush(Duration.ofSeconds(30)))
+            LogsUtils.warn("Some screenshots were still being written when the test finished");
+        ArtifactStore.save();
+    }
 
     @Override
     public void onTestStart(@NotNull ITestResult result) {
         LogsUtils.info("Test Case '" + result.getName() + "' started");
+        FlightRecorder.start();
     }
 
     @Override
     public void onTestSuccess(@NotNull ITestResult result) {
         LogsUtils.info("Test Case '" + result.getName() + "' passed");
+        FlightRecorder.discard();
     }
 
     @Override
     public void onTestSkipped(@NotNull ITestResult result) {
         LogsUtils.warn("Test Case '" + result.getName() + "' skipped");
+        FlightRecorder.discard();
     }
 
     @Override
     public void onTestFailure(@NotNull ITestResult result) {
         LogsUtils.error("Test Case '" + result.getName() + "' failed");
-        // Additional actions, such as taking screenshots or logging errors, can be added here.
+        // Infrastructure failure (browser killed by the watchdog) vs. a genuine product failure
+        String browserFailure = DriverFactory.failureReason(TestDrivers.of(result.getInstance()));
+        if (browserFailure != null) {
+            LogsUtils.error("Test Case '" + result.getName() + "' failed because the " + browserFailure);
+            Allure.addAttachment("browser-failure", browserFailure);
+        }
+        // Recent steps plus the page as the failure left it; only failing tests pay for writing them out
+        FlightRecorder.record(TestDrivers.of(result.getInstance()), "failure", null, result.getThrowable());
+        FlightRecorder.flush(result.getName());
     }
 
     @Override
     public void onTestFailedButWithinSuccessPercentage(@NotNull ITestResult result) {
         LogsUtils.warn("Test Case '" + result.getName()
                 + "' failed but is within the success percentage.");
+        FlightRecorder.discard();
     }
 
     @Override
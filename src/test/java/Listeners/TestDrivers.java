@@ -0,0 +1,107 @@
+package Listeners;
+
+import DriverFactory.DriverFactory;
+import Utilities.LogsUtils;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+// Finds the browser a test instance is driving: the thread's DriverFactory driver, otherwise its own WebDriver field
+class TestDrivers {
+
+    private TestDrivers() {
+    }
+
+    static WebDriver of(Object testInstance) {
+        if (DriverFactory.getDriver() != null)
+            return DriverFactory.getDriver();
+        Field field = driverField(testInstance);
+        try {
+            return field == null ? null : (WebDriver) field.get(testInstance);
+        } catch (IllegalAccessException e) {
+            LogsUtils.warn("Cannot read driver field " + field.getName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Probe before the test runs; a hung/crashed browser is replaced and the test's own driver field re-pointed.
+    // Anything else still holding the dead browser (page objects, TabManagers) cannot be rebuilt safely, so the test
+    // fails with the kill reason instead and the next @BeforeMethod run builds them on a fresh browser.
+    static void ensureHealthy(Object testInstance) {
+        WebDriver driver = of(testInstance);
+        if (driver == null)
+            return;
+        String reason = DriverFactory.failureReason(driver); // dropped once the dead browser is quit
+        WebDriver healthy;
+        String staleHolder;
+        try {
+            healthy = DriverFactory.ensureHealthy(driver);
+            if (healthy == driver)
+                return;
+            Field field = driverField(testInstance);
+            if (field != null && field.get(testInstance) == driver)
+                field.set(testInstance, healthy);
+            staleHolder = staleHolder(testInstance, driver);
+        } catch (IllegalAccessException | RuntimeException e) {
+            LogsUtils.error("Browser recovery failed: " + e.getMessage());
+            return;
+        }
+        if (staleHolder == null) {
+            LogsUtils.warn("Recovered browser session before test");
+            return;
+        }
+        throw new WebDriverException((reason == null ? "browser stopped responding before test start" : reason)
+                + "; " + staleHolder + " still uses the replaced browser");
+    }
+
+    // Name of the first instance field other than the driver itself that holds the dead browser, or null
+    private static String staleHolder(Object testInstance, WebDriver dead) throws IllegalAccessException {
+        for (Class<?> type = testInstance.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive()
+                        || WebDriver.class.isAssignableFrom(field.getType()))
+                    continue;
+                field.setAccessible(true);
+                Object holder = field.get(testInstance);
+                if (holder != null && holdsDriver(holder, dead))
+                    return field.getName();
+            }
+        }
+        return null;
+    }
+
+    private static boolean holdsDriver(Object holder, WebDriver driver) {
+        for (Class<?> type = holder.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            if (type.getName().startsWith("java."))
+                return false;
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || !WebDriver.class.isAssignableFrom(field.getType()))
+                    continue;
+                try {
+                    field.setAccessible(true);
+                    if (field.get(holder) == driver)
+                        return true;
+                } catch (IllegalAccessException | RuntimeException e) {
+                    return false; // inaccessible module class, never a page object
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Field driverField(Object testInstance) {
+        if (testInstance == null)
+            return null;
+        for (Class<?> type = testInstance.getClass(); type != null; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (WebDriver.class.isAssignableFrom(field.getType()) && !Modifier.isFinal(field.getModifiers())) {
+                    field.setAccessible(true);
+                    return field;
+                }
+            }
+        }
+        return null;
+    }
+}
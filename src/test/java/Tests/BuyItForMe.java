@@ -1,12 +1,11 @@
 package Tests;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import DriverFactory.DriverFactory;
+import Utilities.MagentoSync;
+import Utilities.TabManager;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.WindowType;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.testng.Assert;
 import org.testng.annotations.AfterTest;
 import org.testng.annotations.BeforeTest;
@@ -21,29 +20,25 @@ public class BuyItForMe {
     @BeforeTest
     public void prepare() throws InterruptedException {
 
-        WebDriverManager.chromedriver().setup();
+        DriverFactory.resolveDriver("chrome"); // resolved once per JVM, cached on disk
 
-        // Configure ChromeOptions for headless mode
-        ChromeOptions chromeOptions = new ChromeOptions();
-        chromeOptions.addArguments("--headless"); // Enable headless mode
-        chromeOptions.addArguments("--disable-gpu"); // Disable GPU acceleration
-        chromeOptions.addArguments("--window-size=1920,1080"); // Set window size
-
-        // Initialize ChromeDriver with the configured options
-        driver = new ChromeDriver(chromeOptions);
+        driver = DriverFactory.leaseDriver("chrome"); // Lease a pooled driver with the active launch profile
 
         driver.get("https://example.com");
-        Thread.sleep(3000);
+        MagentoSync.settle(driver);
     }
 
     @AfterTest
     public void close() {
-        driver.quit();
+        DriverFactory.returnDriver(driver);
     }
 
     @Test
     public void Buy_it_for_me() throws InterruptedException {
 
+        TabManager tabs = new TabManager(driver).name("storefront");
+        tabs.preload("request-form", "https://example.com")
+                .preload("admin", "https://example.com"); // admin login page loads while the request is filled in
         driver.findElement(By.linkText("اشتريها من أجلي")).click();
 
         // Verify that url https://example.com
@@ -53,33 +48,31 @@ public class BuyItForMe {
 
         // Verify that QR code is displayed
         driver.findElement(By.cssSelector("img.qr_code_image")).isDisplayed();
-        Thread.sleep(5000);
+        MagentoSync.settle(driver);
 
-        // Opens a new tab and switches to new tab to send buy request
-        driver.switchTo().newWindow(WindowType.TAB);
-        driver.get("https://example.com");
-        Thread.sleep(5000);
+        // Switches to the preloaded tab to send buy request
+        tabs.switchTo("request-form");
+        MagentoSync.settle(driver);
         driver.findElement(By.id("product_link")).sendKeys("https://www.noon.com/egypt-en/3-piece-electric-milk-frother-and-whisk-set-multicolour/N46987822A/p/?o=d089c07aa93b89ff&gclid=CjwKCAjw0aS3BhA3EiwAKaD2ZWh8YIC3GhKbaQcbtkw_T64odNrd9HcV2QeghIRDJNIOnn07ZyIbuRoC6jQQAvD_BwE&utm_campaign=C1000151355N_eg_en_web_searchxxexactandphrasexxbrandpurexx08082022_noon_web_c1000088l_acquisition_sembranded_&utm_medium=cpc&utm_source=C1000088L");
         driver.findElement(By.id("product_qty")).clear();
         driver.findElement(By.id("product_qty")).sendKeys("#");
         driver.findElement(By.id("product_name")).sendKeys("مضرب");
         driver.findElement(By.id("customer_name")).sendKeys("####");
         driver.findElement(By.id("customer_phone_number")).sendKeys("######");
-        Thread.sleep(5000);
+        MagentoSync.settle(driver);
         driver.findElement(By.id("submit")).click();
 
-        // Opens a new tab and switches to new tab to see the request in admin dashboard
-        driver.switchTo().newWindow(WindowType.TAB);
-        driver.get("https://example.com");
-        Thread.sleep(5000);
+        // Switches to the preloaded admin tab to see the request in admin dashboard
+        tabs.switchTo("admin");
+        MagentoSync.settle(driver);
         driver.findElement(By.id("username")).sendKeys("######");
         driver.findElement(By.id("login")).sendKeys("######");
         driver.findElement(By.cssSelector(".action-login > span")).click();
-        Thread.sleep(5000);
+        MagentoSync.settle(driver);
         driver.findElement(By.linkText("Ocean")).click();
-        Thread.sleep(5000);
+        MagentoSync.settle(driver);
         driver.findElement(By.xpath("//li[@id='menu-ocean-core-ocean']/div/ul/li[2]/ul/li/div/ul/li[9]/a/span")).click();
-        Thread.sleep(5000);
+        MagentoSync.settle(driver);
 
         // Locate all rows in the table using the class name
         List<WebElement> rows = driver.findElements(By.cssSelector("tr.even, tr.odd")); // Adjust based on your table's row classes
@@ -133,11 +126,11 @@ public class BuyItForMe {
 
         //find the Test Order and click on it
         driver.findElement(By.xpath("//td[contains(.,'######')]")).click();
-        Thread.sleep(5000);
+        MagentoSync.settle(driver);
         driver.findElement(By.xpath("//button[@id='delete']/span")).click();
-        Thread.sleep(5000); // Wait for the delete confirmation dialog to appear
+        MagentoSync.settle(driver);
         driver.findElement(By.xpath("//span[contains(.,'OK')]")).click();
-        Thread.sleep(2000);
+        MagentoSync.settle(driver);
 
 
     }
@@ -1,10 +1,8 @@
 package Tests;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import DriverFactory.DriverFactory;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.testng.annotations.AfterTest;
 import org.testng.annotations.BeforeTest;
 import org.testng.annotations.Test;
@@ -20,20 +18,9 @@ public class HomePageCategoryViewARTest {
     @BeforeTest
     public void prepare() {
         // Set up WebDriver
-        WebDriverManager.chromedriver().setup();
-
-        // Configure ChromeOptions for Incognito Mode //
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--headless");
-        options.addArguments("--no-sandbox");
-        options.addArguments("--disable-dev-shm-usage");
-        options.addArguments("--disable-gpu");
-        options.addArguments("--remote-allow-origins=*"); // Fix potential CORS issues
-        options.addArguments("--disable-extensions");
-        // options.addArguments("--incognito"); // Enable incognito mode
-        options.addArguments("--start-maximized"); // Start maximized
-        options.addArguments("--disable-cache"); // Disable caching
-        driver = new ChromeDriver(options); // Initialize driver with options
+        DriverFactory.resolveDriver("chrome"); // resolved once per JVM, cached on disk
+
+        driver = DriverFactory.leaseDriver("chrome"); // Lease a pooled driver with the active launch profile
 
         // Clear cookies explicitly (if needed)
         driver.manage().deleteAllCookies();
@@ -44,7 +31,7 @@ public class HomePageCategoryViewARTest {
     @AfterTest
     public void shutdown() {
 
-        driver.quit();
+        DriverFactory.returnDriver(driver);
 
     }
 
@@ -1,6 +1,6 @@
+import DriverFactory.DriverFactory;
+import Utilities.MagentoSync;
 import org.openqa.selenium.*;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.annotations.AfterMethod;
@@ -15,17 +15,12 @@ public class PaymentMethodTest {
     @BeforeMethod
     public void setUp() {
 
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--headless", "--no-sandbox", "--disable-dev-shm-usage");
-        options.addArguments("--disable-cache", "--disable-application-cache", "--incognito");
-        driver = new ChromeDriver(options);
-
-        driver.manage().window().maximize();
+        driver = DriverFactory.leaseDriver("chrome"); // active launch profile; the pool resets cookies and storage
     }
 
     @AfterMethod
     public void tearDown() {
-        driver.quit();
+        DriverFactory.returnDriver(driver);
     }
 
     @Test
@@ -53,33 +48,33 @@ public class PaymentMethodTest {
         productPage.scrollTo(0, 338);
         productPage.clickToys();
         productPage.selectSorterOption("Product Name");
-        try { Thread.sleep(5000); } catch (InterruptedException e) { e.printStackTrace(); }
+        MagentoSync.settle(driver);
         productPage.selectProduct();
         productPage.addToCart();
 
         // Wait for product to be added
-        try { Thread.sleep(5000); } catch (InterruptedException e) { e.printStackTrace(); }
+        MagentoSync.settle(driver);
 
         // Cart and checkout steps
         cartPage.clickCartIcon();
-        try { Thread.sleep(5000); } catch (InterruptedException e) { e.printStackTrace(); }
+        MagentoSync.settle(driver);
 
         cartPage.proceedToCheckout();
 
         // Wait for checkout page
-        try { Thread.sleep(5000); } catch (InterruptedException e) { e.printStackTrace(); }
+        MagentoSync.settle(driver);
 
         // Checkout process
         checkoutPage.scrollTo(0, 175);
         checkoutPage.proceedWithShipping();
-        try { Thread.sleep(5000); } catch (InterruptedException e) { e.printStackTrace(); }
+        MagentoSync.settle(driver);
 
         checkoutPage.selectCOD();
         checkoutPage.agreeToTerms();
         checkoutPage.placeOrder();
 
         // Wait for order confirmation
-        try { Thread.sleep(5000); } catch (InterruptedException e) { e.printStackTrace(); }
+        MagentoSync.settle(driver);
     }
 
     // Method to handle the welcome popup
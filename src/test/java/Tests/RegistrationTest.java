@@ -1,15 +1,13 @@
 package Tests;
 
+import DriverFactory.DriverFactory;
 import Pages.AdminPage;
-import Pages.BasePage;
 import Pages.SSRegistrationPage;
+import Utilities.MagentoSync;
 import Utilities.Utility;
-import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WindowType;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.annotations.AfterTest;
@@ -26,22 +24,9 @@ public class RegistrationTest {
     @BeforeTest
     public void prepare() {
         // Set up WebDriver
-        WebDriverManager.chromedriver().setup();
+        DriverFactory.resolveDriver("chrome"); // resolved once per JVM, cached on disk
 
-        // Configure ChromeOptions for Incognito Mode //
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--headless");
-        options.addArguments("--window-size=1920,1080");
-
-        options.addArguments("--no-sandbox");
-        options.addArguments("--disable-dev-shm-usage");
-        options.addArguments("--disable-gpu");
-        options.addArguments("--remote-allow-origins=*"); // Fix potential CORS issues
-        options.addArguments("--disable-extensions");
-        // options.addArguments("--incognito"); // Enable incognito mode
-        options.addArguments("--start-maximized"); // Start maximized
-        options.addArguments("--disable-cache"); // Disable caching
-        driver = new ChromeDriver(options); // Initialize driver with options
+        driver = DriverFactory.leaseDriver("chrome"); // Lease a pooled driver with the active launch profile
 
         // Clear cookies explicitly (if needed)
         driver.manage().deleteAllCookies();
@@ -55,7 +40,7 @@ public class RegistrationTest {
     @AfterTest
     public void shutdown() {
         if (driver != null) {
-            driver.quit();
+            DriverFactory.returnDriver(driver);
         }
     }
 
@@ -64,7 +49,7 @@ public class RegistrationTest {
         log.info("Starting Registration Test");
         // Step 1: Navigate to Registration Page
         log.info("Navigating to Registration Page");
-        BasePage.openUrl("https://example.com");
+        SSRegistrationPage.openUrl("https://example.com");
         log.info("Setup Registration Screen");
         SSRegistrationPage.selectScreenType("التسجيل");
         SSRegistrationPage.enterIdentifier("######");
@@ -105,30 +90,30 @@ public class RegistrationTest {
         // Step 4: Verify Registration in Admin Portal
         log.info("Switch To Admin Portal");
         driver.switchTo().window((String) windowHandles[1]);
-        Thread.sleep(5000);
+        MagentoSync.settle(driver);
         log.info("Navigating To Customers Tab");
         Utility.clickingOnElement(driver, By.xpath("/html/body/div[1]/nav/ul/li[8]/a"));  //customer tab
-        Thread.sleep(3000);
+        MagentoSync.settle(driver);
         log.info("Navigating To All Customers Tab");
         Utility.clickingOnElement(driver, By.xpath("/html/body/div[1]/nav/ul/li[8]/div/ul/li[1]/a"));
         log.info("Clear Search Field");
         Utility.findWebElement(driver, By.xpath("/html/body/div[2]/main/div[2]/div/div/div[2]/div[2]/div[1]/div[2]/input")).clear();
         log.info("Enter The Random Phone Number");
         Utility.sendData(driver, By.xpath("/html/body/div[2]/main/div[2]/div/div/div[2]/div[2]/div[1]/div[2]/input"), randomPhoneNumber);
-        Thread.sleep(1500);
+        MagentoSync.settle(driver);
         log.info("Click On Search Button");
         Utility.clickingOnElement(driver, By.xpath("//div[2]/div/div[2]/button")); // Search
-        Thread.sleep(5000);
+        MagentoSync.settle(driver);
 
         // Open Customer Details
         Utility.findWebElement(driver, By.xpath("//td[22]/a"));
-        Thread.sleep(10000);
+        MagentoSync.settle(driver);
         log.info("Open Customer Details");
         Utility.clickingOnElement(driver, By.xpath("/html/body/div[2]/main/div[2]/div/div/div[2]/div[4]/table/tbody/tr[2]/td[22]/a")); // Open customer details
-        Thread.sleep(3000);
+        MagentoSync.settle(driver);
         log.info("Delete Customer");
         Utility.clickingOnElement(driver, By.xpath("//button[3]/span")); // Action
-        Thread.sleep(3000);
+        MagentoSync.settle(driver);
         log.info("Save");
         Utility.clickingOnElement(driver, By.xpath("//footer/button[2]/span")); // Save or confirm
         log.info("Test Completed Successfully");
@@ -1,17 +1,20 @@
 package Tests;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import DriverFactory.DriverFactory;
+import Utilities.MagentoSync;
+import Utilities.TabManager;
+import Utilities.NetworkIdle;
+import Utilities.Utility;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.WindowType;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.Select;
 import org.testng.annotations.AfterTest;
 import org.testng.annotations.BeforeTest;
 import org.testng.annotations.Test;
 
+import java.time.Duration;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 
@@ -22,20 +25,9 @@ public class SSPlaceOrderWithStoreCreditCouponRewardPointsTest {
     @BeforeTest
     public void prepare() {
         // Set up WebDriver
-        WebDriverManager.chromedriver().setup();
-
-        // Configure ChromeOptions for Incognito Mode //
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--headless");
-        options.addArguments("--no-sandbox");
-        options.addArguments("--disable-dev-shm-usage");
-        options.addArguments("--disable-gpu");
-        options.addArguments("--remote-allow-origins=*"); // Fix potential CORS issues
-        options.addArguments("--disable-extensions");
-        // options.addArguments("--incognito"); // Enable incognito mode
-        options.addArguments("--start-maximized"); // Start maximized
-        options.addArguments("--disable-cache"); // Disable caching
-        driver = new ChromeDriver(options); // Initialize driver with options
+        DriverFactory.resolveDriver("chrome"); // resolved once per JVM, cached on disk
+
+        driver = DriverFactory.leaseDriver("chrome"); // Lease a pooled driver with the active launch profile
 
         // Clear cookies explicitly (if needed)
         driver.manage().deleteAllCookies();
@@ -46,7 +38,7 @@ public class SSPlaceOrderWithStoreCreditCouponRewardPointsTest {
     @AfterTest
     public void shutdown() {
 
-        driver.quit();
+        DriverFactory.returnDriver(driver);
 
     }
 
@@ -54,34 +46,39 @@ public class SSPlaceOrderWithStoreCreditCouponRewardPointsTest {
     @Test
     public void open_screen_setup() throws InterruptedException {
 
+        TabManager tabs = new TabManager(driver);
         driver.get("https://www.example.com");  //open magento
+        tabs.name("admin");
         driver.findElement(By.cssSelector("#username")).sendKeys("######");  //user name
         driver.findElement(By.cssSelector("#login")).sendKeys("######");  //password
         driver.findElement(By.cssSelector("#login-form > fieldset > div.form-actions > div.actions > button")).click();  //sign in
         driver.findElement(By.cssSelector("#menu-magento-catalog-catalog")).click();  // catalog
         driver.findElement(By.cssSelector("#menu-magento-catalog-catalog > div > ul > li.item-inventory.parent.level-1 > div > ul > li.item-catalog-products.level-2 > a")).click();  //products
-        Thread.sleep(2000);
+        MagentoSync.settle(driver);
         driver.findElement(By.xpath("//*[@id=\"fulltext\"]")).clear();  // product search field
         driver.findElement(By.xpath("//*[@id=\"fulltext\"]")).sendKeys("####"); //
         driver.findElement(By.cssSelector("#container > div > div.admin__data-grid-header > div:nth-child(1) > div.data-grid-search-control-wrap > button")).click();  // search
         driver.findElement(By.cssSelector("#idscheck413176")).click();  // checkbox
         driver.findElement(By.cssSelector("#container > div > div.admin__data-grid-header > div.admin__data-grid-header-row.row.row-gutter > div.col-xs-2 > div > button")).click();  // mass action
         driver.findElement(By.cssSelector("#container > div > div.admin__data-grid-header > div.admin__data-grid-header-row.row.row-gutter > div.col-xs-2 > div > div > ul > li._parent > span")).click();  //change status
-        driver.findElement(By.cssSelector("#container > div > div.admin__data-grid-header > div.admin__data-grid-header-row.row.row-gutter > div.col-xs-2 > div > div > ul > li._parent._visible > ul > li:nth-child(1) > span")).click();  //enable
+        MagentoSync.settleAfter(driver, () -> driver.findElement(By.cssSelector("#container > div > div.admin__data-grid-header > div.admin__data-grid-header-row.row.row-gutter > div.col-xs-2 > div > div > ul > li._parent._visible > ul > li:nth-child(1) > span")).click());  //enable
+        Utility.findWebElement(driver, By.cssSelector("#messages .message-success"));  // mass action confirmed >> product is enabled
+        tabs.preload("storefront", "https://www.example.com"); // test product, loads while the customer is set up
+        tabs.preload("smart-store", "https://www.raneen.com/ss_zayed/smartstore/screen/setup");
         driver.findElement(By.cssSelector("#menu-magento-customer-customer")).click();  // customers
-        Thread.sleep(2000);
+        MagentoSync.settle(driver);
         driver.findElement(By.cssSelector("#menu-magento-customer-customer > div > ul > li.item-customer-manage.level-1 > a")).click();  //all customers
-        Thread.sleep(1000);
+        MagentoSync.settle(driver);
         driver.findElement(By.cssSelector("#fulltext")).clear();  //
         driver.findElement(By.cssSelector("#fulltext")).sendKeys("######");  //
         driver.findElement(By.cssSelector("#container > div.admin__data-grid-outer-wrap > div.admin__data-grid-header > div:nth-child(1) > div.data-grid-search-control-wrap > button")).click();  //search
         driver.findElement(By.cssSelector("#container > div.admin__data-grid-outer-wrap > div.admin__data-grid-wrap > table > tbody > tr:nth-child(2) > td.data-grid-actions-cell > a")).click();  //edit
-        Thread.sleep(3000);
+        MagentoSync.settle(driver);
         driver.findElement(By.cssSelector("#tab_customerbalance_content")).click();  //store credit
-        Thread.sleep(7000);
+        MagentoSync.settle(driver);
         driver.findElement(By.cssSelector("#_customerbalanceamount_delta")).sendKeys("100");  //
         driver.findElement(By.cssSelector("#tab_customer_edit_tab_reward_content")).click();  //reward points
-        Thread.sleep(7000);
+        MagentoSync.settle(driver);
         driver.findElement(By.id("reward_store")).click();  //drop down
         {
             WebElement dropdownElement = driver.findElement(By.id("reward_store")); // Replace with actual ID
@@ -94,19 +91,13 @@ public class SSPlaceOrderWithStoreCreditCouponRewardPointsTest {
         }
         driver.findElement(By.cssSelector("#reward_points_delta")).sendKeys("100");  //
         driver.findElement(By.cssSelector("#save")).click();  //save customer
-        Thread.sleep(7000);
-        driver.switchTo().newWindow(WindowType.TAB);
-        Object[] windowHandles = driver.getWindowHandles().toArray();
-        driver.switchTo().window((String) windowHandles[1]);
-        driver.get("https://www.example.com"); // test product
+        MagentoSync.settle(driver);
+        tabs.switchTo("storefront");
         driver.findElement(By.cssSelector("#smart-addtocart-button")).click();  // add t cart
         driver.findElement(By.cssSelector("#phone-number")).sendKeys("######");  // phone num
         driver.findElement(By.cssSelector("#html-body > div.modals-wrapper > aside > div.modal-inner-wrap > footer > button")).click();  // add t cart
-        Thread.sleep(5000);
-        driver.switchTo().newWindow(WindowType.TAB);
-        Object[] windowHandles2 = driver.getWindowHandles().toArray();
-        driver.switchTo().window((String) windowHandles2[2]);
-        driver.get("https://www.raneen.com/ss_zayed/smartstore/screen/setup");
+        MagentoSync.settle(driver);
+        tabs.switchTo("smart-store");
         driver.findElement(By.cssSelector("#screen_type")).click();  // screen type
         driver.findElement(By.cssSelector("#screen_type > option:nth-child(4)")).click();  //checkout screen
         driver.findElement(By.cssSelector("#identifier")).sendKeys("######");  //
@@ -114,48 +105,45 @@ public class SSPlaceOrderWithStoreCreditCouponRewardPointsTest {
         driver.findElement(By.cssSelector("#screen-setup-form > div.actions-toolbar > div > button")).click();  // setup screen
         driver.findElement(By.cssSelector("#phone")).sendKeys("######");  //send OTP
         driver.findElement(By.cssSelector("#smartstore-otp > button")).click();  //send
-        driver.switchTo().window((String) windowHandles2[0]); //magento
+        tabs.switchTo("admin");
         driver.findElement(By.cssSelector("#menu-ocean-core-ocean > a")).click();  //ocean
-        Thread.sleep(2000);
+        MagentoSync.settle(driver);
         driver.findElement(By.cssSelector("#menu-ocean-core-ocean > div > ul > li:nth-child(2) > ul > li:nth-child(1) > div > ul > li.item-smartotp.level-2 > a")).click();  //OTPs
         String OTP = driver.findElement(By.xpath("//tbody/tr/td[3]")).getText(); //copy
-        driver.switchTo().window((String) windowHandles2[2]); //magento
+        tabs.switchTo("smart-store");
         driver.findElement(By.cssSelector("#otp")).sendKeys(OTP);  //paste
         driver.findElement(By.cssSelector("#smartstore-login > button")).click();  // check otp
-        Thread.sleep(8000);
+        MagentoSync.settle(driver);
         driver.findElement(By.cssSelector("#form-validate > div.cart.main.actions > button.action.update")).click();  //update cart
-        Thread.sleep(10000);
+        MagentoSync.settle(driver);
         assertThat(driver.findElement(By.cssSelector("#cart-totals > div > table > tbody > tr.grand.totals > td > strong > span")).getText(), is("EGP 620.00"));
         driver.findElement(By.cssSelector("#maincontent > div.columns > div > div.cart-container > div.cart-summary._sticky > ul > li > button")).click();  //proceed to checkout page
-        Thread.sleep(7000);
+        MagentoSync.settle(driver);
         driver.findElement(By.cssSelector("#shipping-method-buttons-container > div > button")).click();  //shipping info
-        Thread.sleep(10000);
+        MagentoSync.waitForCheckoutStep(driver, "payment");
         driver.findElement(By.cssSelector("#block-discount-heading")).click();  //coupon
         driver.findElement(By.cssSelector("#discount-code")).sendKeys("######");  //coupon code
-        driver.findElement(By.cssSelector("#discount-form > div.actions-toolbar > div > button")).click();  //apply coupon
-        Thread.sleep(5000);
-        driver.findElement(By.cssSelector("#use-customer-balance")).click();  //apply store credit
-        Thread.sleep(5000);
-        driver.findElement(By.cssSelector("#reward-points-buttons-container > div > button")).click();  //apply reward points
-        Thread.sleep(7000);
+        NetworkIdle.afterAction(driver, () -> driver.findElement(By.cssSelector("#discount-form > div.actions-toolbar > div > button")).click(), Duration.ofMillis(500), NetworkIdle.MAGENTO_AJAX);  //apply coupon
+        NetworkIdle.afterAction(driver, () -> driver.findElement(By.cssSelector("#use-customer-balance")).click(), Duration.ofMillis(500), NetworkIdle.MAGENTO_AJAX);  //apply store credit
+        NetworkIdle.afterAction(driver, () -> driver.findElement(By.cssSelector("#reward-points-buttons-container > div > button")).click(), Duration.ofMillis(500), NetworkIdle.MAGENTO_AJAX);  //apply reward points
         assertThat(driver.findElement(By.cssSelector("#opc-sidebar > div.opc-block-summary > table > tbody > tr.totals.discount > td > span")).getText(), is("-EGP 100.00"));      //coupon
         assertThat(driver.findElement(By.cssSelector("#opc-sidebar > div.opc-block-summary > table > tbody > tr.totals.rewardpoints > td > span")).getText(), is("-EGP 10.00"));   //reward points
         assertThat(driver.findElement(By.cssSelector("#opc-sidebar > div.opc-block-summary > table > tbody > tr.totals.balance > td > span")).getText(), is("-EGP 100.00"));       //store credit
         assertThat(driver.findElement(By.cssSelector("#opc-sidebar > div.opc-block-summary > table > tbody > tr.grand.totals > td > strong > span")).getText(), is("EGP 410.00")); //totals
         driver.findElement(By.cssSelector("#online_payment")).click();  //pay online
-        Thread.sleep(3000);
+        MagentoSync.settle(driver);
         driver.findElement(By.cssSelector("#ocean_NBEGate_cash")).click();  //NBE visa
-        Thread.sleep(3000);
+        MagentoSync.settle(driver);
         driver.findElement(By.cssSelector("#agreement_ocean_NBEGate_cash_3")).click();  //terms button
         driver.findElement(By.cssSelector("#checkout-payment-method-load > div > div > div.payment-method._active > div.payment-method-content > div.actions-toolbar > div > button")).click();  //place order
-        Thread.sleep(5000);
+        MagentoSync.settle(driver);
         assertThat(driver.findElement(By.cssSelector("#maincontent > div.page-title-wrapper > h1 > span")).getText(), is("تم استلام طلبك بنجاح!")); //success page
-        driver.switchTo().window((String) windowHandles2[0]); //magento
-        Thread.sleep(3000);
+        tabs.switchTo("admin");
+        MagentoSync.settle(driver);
         driver.findElement(By.cssSelector("#menu-magento-sales-sales > a")).click();  //sales
-        Thread.sleep(50000);
+        MagentoSync.settle(driver);
         driver.findElement(By.cssSelector("#menu-magento-sales-sales > div > ul > li:nth-child(1) > ul > li > div > ul > li.item-sales-order.level-2 > a")).click();  //orders
-        Thread.sleep(10000);
+        MagentoSync.settle(driver);
         driver.findElement(By.cssSelector("#fulltext")).clear();  //
         driver.findElement(By.cssSelector("#fulltext")).sendKeys("######");  //
         driver.findElement(By.cssSelector("#container > div > div.admin__data-grid-header > div:nth-child(1) > div.data-grid-search-control-wrap > button")).click();  //search
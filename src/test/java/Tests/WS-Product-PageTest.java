@@ -1,13 +1,11 @@
 package Tests;
 
+import DriverFactory.DriverFactory;
 import Pages.WebProductPage;
 import Utilities.Utility;
-import io.github.bonigarcia.wdm.WebDriverManager;
 import io.qameta.allure.*;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.SkipException;
@@ -28,19 +26,12 @@ public class WebProductPageTest {
     // export RANEEN_PRODUCT_PATH="#######"
     private final String baseUrl = System.getenv().getOrDefault("RANEEN_BASE_URL", "https://www.example.com");
     private final String productPath = System.getenv("########"); // required for "real" test data
-    private final boolean headless = !"0".equals(System.getenv().getOrDefault("HEADLESS", "1"));
 
     @BeforeTest
     public void prepare() {
-        WebDriverManager.chromedriver().setup();
+        DriverFactory.resolveDriver("chrome"); // resolved once per JVM, cached on disk
 
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--window-size=1920,1080");
-        if (headless) options.addArguments("--headless=new");
-        options.addArguments("--no-sandbox", "--disable-dev-shm-usage", "--disable-gpu",
-                "--remote-allow-origins=*", "--disable-extensions");
-
-        driver = new ChromeDriver(options);
+        driver = DriverFactory.leaseDriver("chrome"); // Lease a pooled driver with the active launch profile
         driver.manage().deleteAllCookies();
 
         webProductPage = new WebProductPage(driver);
@@ -48,7 +39,7 @@ public class WebProductPageTest {
 
     @AfterTest(alwaysRun = true)
     public void teardown() {
-        if (driver != null) driver.quit();
+        if (driver != null) DriverFactory.returnDriver(driver);
     }
 
     @Description("Public-safe demo: verify core elements exist on product page (no sensitive assertions).")
@@ -1,15 +1,13 @@
 package Tests;
 
-import Pages.BasePage;
+import DriverFactory.DriverFactory;
 import Pages.WebCategoryPage;
 import Pages.WebHomePage;
+import Utilities.MagentoSync;
 import Utilities.Utility;
-import io.github.bonigarcia.wdm.WebDriverManager;
 import io.qameta.allure.*;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.annotations.AfterTest;
@@ -29,20 +27,9 @@ public class WebSideBarMenuTest {
     @BeforeTest
     public void prepare() {
         // Set up WebDriver
-        WebDriverManager.chromedriver().setup();
+        DriverFactory.resolveDriver("chrome"); // resolved once per JVM, cached on disk
 
-        // Configure ChromeOptions for Incognito Mode //
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--headless");
-        options.addArguments("--no-sandbox");
-        options.addArguments("--disable-dev-shm-usage");
-        options.addArguments("--disable-gpu");
-        options.addArguments("--remote-allow-origins=*"); // Fix potential CORS issues
-        options.addArguments("--disable-extensions");
-        // options.addArguments("--incognito"); // Enable incognito mode
-        options.addArguments("--start-maximized"); // Start maximized
-        options.addArguments("--disable-cache"); // Disable caching
-        driver = new ChromeDriver(options); // Initialize driver with options
+        driver = DriverFactory.leaseDriver("chrome"); // Lease a pooled driver with the active launch profile
 
         // Clear cookies explicitly (if needed)
         driver.manage().deleteAllCookies();
@@ -54,9 +41,9 @@ public class WebSideBarMenuTest {
 
     @AfterTest
     public void teardown() {
-        // Close the browser after the test
+        // Return the browser to the pool after the test
         if (driver != null) {
-            driver.quit();
+            DriverFactory.returnDriver(driver);
         }
     }
 
@@ -73,7 +60,7 @@ public class WebSideBarMenuTest {
     public void testSidebarMenuFunctionality() throws InterruptedException {
         // Step 1: Navigate to the homepage
         log.info("Navigating to the homepage...");
-        BasePage.openUrl("https://www.example.com/ar/");
+        webHomePage.openUrl("https://www.example.com/ar/");
         log.info("Waiting for 10 sec...");
         Utility.waitForPageToLoad(driver, 10); // Ensure the page is fully loaded
         // Step 2: Interact with Sidebar Menu
@@ -128,15 +115,10 @@ public class WebSideBarMenuTest {
         webCategoryPage.assertSortByDropDownButton();
         log.info("Validating list view ...");
         webCategoryPage.switchToListView();
-        log.info("Waiting for 3 sec...");
-        Thread.sleep(3000);
+        MagentoSync.settle(driver);
         webCategoryPage.switchToGridView();
         log.info("Reopening sidebar menu...");
-        webHomePage.clickAllCategories(); // Open sidebar
-        Utility.waitForPageToLoad(driver, 5); // Wait for menu to load
-        webHomePage.clickMenuTab();
-        log.info("Waiting for 3 sec...");
-        Thread.sleep(3000);
+        webHomePage.openCategoriesMenu(); // Open sidebar on the categories tab
         log.info("Clicking on 'Mobiles'...");
         webHomePage.clickMobiles();
         log.info("Validating mobiles category page...");
@@ -155,8 +137,7 @@ public class WebSideBarMenuTest {
         webCategoryPage.assertSortByDropDownButton();
         log.info("Validating list view ...");
         webCategoryPage.switchToListView();
-        log.info("Waiting for 3 sec...");
-        Thread.sleep(3000);
+        MagentoSync.settle(driver);
         webCategoryPage.switchToGridView();
         log.info("Reopening sidebar menu...");
         webHomePage.clickAllCategories(); // Open sidebar
@@ -184,18 +165,10 @@ public class WebSideBarMenuTest {
         webCategoryPage.assertSortByDropDownButton();
         log.info("Validating list view ...");
         webCategoryPage.switchToListView();
-        log.info("Waiting for 3 sec...");
-        Thread.sleep(3000);
+        MagentoSync.settle(driver);
         webCategoryPage.switchToGridView();
         log.info("Reopening sidebar menu...");
-        webHomePage.clickAllCategories(); // Open sidebar
-        log.info("Waiting for 5 sec...");
-        Utility.waitForPageToLoad(driver, 5); // Wait for menu to load
-        log.info("Waiting for 3 sec...");
-        Thread.sleep(3000);
-        webHomePage.clickMenuTab();
-        log.info("Waiting for 5 sec...");
-        Thread.sleep(3000);
+        webHomePage.openCategoriesMenu(); // Open sidebar on the categories tab
         log.info("Clicking on 'Home'...");
         webHomePage.clickHome();
         webCategoryPage.assertallProductsDiv();
@@ -213,16 +186,10 @@ public class WebSideBarMenuTest {
         webCategoryPage.assertSortByDropDownButton();
         log.info("Validating list view ...");
         webCategoryPage.switchToListView();
-        log.info("Waiting for 3 sec...");
-        Thread.sleep(3000);
+        MagentoSync.settle(driver);
         webCategoryPage.switchToGridView();
         log.info("Reopening sidebar menu...");
-        webHomePage.clickAllCategories(); // Open sidebar
-        log.info("Waiting for 5 sec...");
-        Utility.waitForPageToLoad(driver, 5); // Wait for menu to load
-        webHomePage.clickMenuTab();
-        log.info("Waiting for 3 sec...");
-        Thread.sleep(3000);
+        webHomePage.openCategoriesMenu(); // Open sidebar on the categories tab
         log.info("Clicking on 'Kitchen'...");
         webHomePage.clickKitchen();
         log.info("Validating kitchen category page...");
@@ -241,16 +208,10 @@ public class WebSideBarMenuTest {
         webCategoryPage.assertSortByDropDownButton();
         log.info("Validating list view ...");
         webCategoryPage.switchToListView();
-        log.info("Waiting for 3 sec...");
-        Thread.sleep(3000);
+        MagentoSync.settle(driver);
         webCategoryPage.switchToGridView();
         log.info("Reopening sidebar menu...");
-        webHomePage.clickAllCategories(); // Open sidebar
-        log.info("Waiting for 5 sec...");
-        Utility.waitForPageToLoad(driver, 5); // Wait for menu to load
-        webHomePage.clickMenuTab();
-        log.info("Waiting for 3 sec...");
-        Thread.sleep(3000);
+        webHomePage.openCategoriesMenu(); // Open sidebar on the categories tab
         log.info("Clicking on 'Textile'...");
         webHomePage.clickTextile();
         log.info("Validating textile category page...");
@@ -269,16 +230,10 @@ public class WebSideBarMenuTest {
         webCategoryPage.assertSortByDropDownButton();
         log.info("Validating list view ...");
         webCategoryPage.switchToListView();
-        log.info("Waiting for 3 sec...");
-        Thread.sleep(3000);
+        MagentoSync.settle(driver);
         webCategoryPage.switchToGridView();
         log.info("Reopening sidebar menu...");
-        webHomePage.clickAllCategories(); // Open sidebar
-        log.info("Waiting for 5 sec...");
-        Utility.waitForPageToLoad(driver, 5); // Wait for menu to load
-        webHomePage.clickMenuTab();
-        log.info("Waiting for 3 sec...");
-        Thread.sleep(3000);
+        webHomePage.openCategoriesMenu(); // Open sidebar on the categories tab
         log.info("Clicking on 'Furniture'...");
         webHomePage.clickFurniture();
         log.info("Validating furniture category page...");
@@ -297,15 +252,10 @@ public class WebSideBarMenuTest {
         webCategoryPage.assertSortByDropDownButton();
         log.info("Validating list view ...");
         webCategoryPage.switchToListView();
-        log.info("Waiting for 3 sec...");
-        Thread.sleep(3000);
+        MagentoSync.settle(driver);
         webCategoryPage.switchToGridView();
         log.info("Reopening sidebar menu...");
-        webHomePage.clickAllCategories(); // Open sidebar
-        log.info("Waiting for 5 sec...");
-        Utility.waitForPageToLoad(driver, 5); // Wait for menu to load
-        webHomePage.clickMenuTab();
-        Thread.sleep(3000);
+        webHomePage.openCategoriesMenu(); // Open sidebar on the categories tab
         log.info("Clicking on 'Family Products'...");
         webHomePage.clickFamilyProducts();
         log.info("Validating family products category page...");
@@ -324,14 +274,10 @@ public class WebSideBarMenuTest {
         webCategoryPage.assertSortByDropDownButton();
         log.info("Validating list view ...");
         webCategoryPage.switchToListView();
-        Thread.sleep(3000);
+        MagentoSync.settle(driver);
         webCategoryPage.switchToGridView();
         log.info("Reopening sidebar menu...");
-        webHomePage.clickAllCategories(); // Open sidebar
-        log.info("Waiting for 5 sec...");
-        Utility.waitForPageToLoad(driver, 5); // Wait for menu to load
-        webHomePage.clickMenuTab();
-        Thread.sleep(3000);
+        webHomePage.openCategoriesMenu(); // Open sidebar on the categories tab
         log.info("Clicking on 'Fashion'...");
         webHomePage.clickFashion();
         log.info("Validating fashion category page...");
@@ -350,14 +296,10 @@ public class WebSideBarMenuTest {
         webCategoryPage.assertSortByDropDownButton();
         log.info("Validating list view ...");
         webCategoryPage.switchToListView();
-        Thread.sleep(3000);
+        MagentoSync.settle(driver);
         webCategoryPage.switchToGridView();
         log.info("Reopening sidebar menu...");
-        webHomePage.clickAllCategories(); // Open sidebar
-        log.info("Waiting for 5 sec...");
-        Utility.waitForPageToLoad(driver, 5); // Wait for menu to load
-        webHomePage.clickMenuTab();
-        Thread.sleep(3000);
+        webHomePage.openCategoriesMenu(); // Open sidebar on the categories tab
         log.info("Clicking on 'Lighting and Home Decor'...");
         webHomePage.clickLightingHomeDecore();
         log.info("Validating lighting and home decor category page...");
@@ -376,14 +318,10 @@ public class WebSideBarMenuTest {
         webCategoryPage.assertSortByDropDownButton();
         log.info("Validating list view ...");
         webCategoryPage.switchToListView();
-        Thread.sleep(3000);
+        MagentoSync.settle(driver);
         webCategoryPage.switchToGridView();
         log.info("Reopening sidebar menu...");
-        webHomePage.clickAllCategories(); // Open sidebar
-        log.info("Waiting for 5 sec...");
-        Utility.waitForPageToLoad(driver, 5); // Wait for menu to load
-        webHomePage.clickMenuTab();
-        Thread.sleep(3000);
+        webHomePage.openCategoriesMenu(); // Open sidebar on the categories tab
         log.info("Test completed successfully.");
 
 
@@ -1,14 +1,12 @@
 package Tests;
 
+import DriverFactory.DriverFactory;
 import Pages.*;
 import Utilities.LogsUtils;
 import Utilities.Utility;
-import io.github.bonigarcia.wdm.WebDriverManager;
 import io.qameta.allure.*;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.annotations.AfterTest;
@@ -27,22 +25,9 @@ public class WebCategoryFiltrationsTest {
     @BeforeTest
     public void prepare() {
         // Set up WebDriver
-        WebDriverManager.chromedriver().setup();
-
-        // Configure ChromeOptions for Incognito Mode //
-        ChromeOptions options = new ChromeOptions();
-
-        options.addArguments("--headless");
-        options.addArguments("--window-size=1920,1080");
-        options.addArguments("--no-sandbox");
-        options.addArguments("--disable-dev-shm-usage");
-        options.addArguments("--disable-gpu");
-        options.addArguments("--remote-allow-origins=*"); // Fix potential CORS issues
-        options.addArguments("--disable-extensions");
-        // options.addArguments("--incognito"); // Enable incognito mode
-        options.addArguments("--start-maximized"); // Start maximized
-        options.addArguments("--disable-cache"); // Disable caching
-        driver = new ChromeDriver(options); // Initialize driver with options
+        DriverFactory.resolveDriver("chrome"); // resolved once per JVM, cached on disk
+
+        driver = DriverFactory.leaseDriver("chrome"); // Lease a pooled driver with the active launch profile
 
         // Clear cookies explicitly (if needed)
         driver.manage().deleteAllCookies();
@@ -57,9 +42,9 @@ public class WebCategoryFiltrationsTest {
 
     @AfterTest
     public void teardown() {
-        // Close the browser after the test
+        // Return the browser to the pool after the test
         if (driver != null) {
-            driver.quit();
+            DriverFactory.returnDriver(driver);
         }
     }
 
@@ -77,7 +62,7 @@ public class WebCategoryFiltrationsTest {
 
         // Step 1: Navigate to the homepage
         LogsUtils.info("open appliances page...");
-        BasePage.openUrl("https://www.example.com");
+        webCategoryPage.openUrl("https://www.example.com");
         LogsUtils.info("assert category name...");
         Utility.assertText(driver, By.cssSelector("#page-title-heading > span"), "الأجهزة المنزلية");
         LogsUtils.info("assert category filter section...");
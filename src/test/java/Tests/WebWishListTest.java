@@ -1,13 +1,13 @@
 package Tests;
 
+import DriverFactory.DriverFactory;
 import Pages.*;
+import Utilities.MagentoSync;
+import Utilities.SessionCache;
 import Utilities.Utility;
-import io.github.bonigarcia.wdm.WebDriverManager;
 import io.qameta.allure.*;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.annotations.AfterTest;
@@ -26,22 +26,9 @@ public class WebWishListTest {
     @BeforeTest
     public void prepare() {
         // Set up WebDriver
-        WebDriverManager.chromedriver().setup();
+        DriverFactory.resolveDriver("chrome"); // resolved once per JVM, cached on disk
 
-        // Configure ChromeOptions for Incognito Mode //
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--headless");
-        options.addArguments("--window-size=1920,1080");
-
-        options.addArguments("--no-sandbox");
-        options.addArguments("--disable-dev-shm-usage");
-        options.addArguments("--disable-gpu");
-        options.addArguments("--remote-allow-origins=*"); // Fix potential CORS issues
-        options.addArguments("--disable-extensions");
-        // options.addArguments("--incognito"); // Enable incognito mode
-        options.addArguments("--start-maximized"); // Start maximized
-        options.addArguments("--disable-cache"); // Disable caching
-        driver = new ChromeDriver(options); // Initialize driver with options
+        driver = DriverFactory.leaseDriver("chrome"); // Lease a pooled driver with the active launch profile
 
         // Clear cookies explicitly (if needed)
         driver.manage().deleteAllCookies();
@@ -55,9 +42,9 @@ public class WebWishListTest {
 
     @AfterTest
     public void teardown() {
-        // Close the browser after the test
+        // Return the browser to the pool after the test
         if (driver != null) {
-            driver.quit();
+            DriverFactory.returnDriver(driver);
         }
     }
 
@@ -76,20 +63,13 @@ public class WebWishListTest {
         // Step 1: Navigate to the homepage
         log.info("Starting test for wish list functionality...");
         log.info("open TV category page...");
-        BasePage.openUrl("https://www.raneen.com/ar/electronics/televisions-accessories/tv?product_list_order=name");
-        Utility.waitForPageToLoad(driver, 10); // Ensure the page is fully loaded
-        log.info("Clicking on login button...");
-        logInPage.clickLoginButton();
-        log.info("wait for 6 sec...");
-        Thread.sleep(6000);
-        log.info("Entering login credentials...");
-        logInPage.enterEmail("");
-        logInPage.enterPassword("");
-        log.info("Submitting login form...");
-        logInPage.clickSubmitLogIn();
+        webCategoryPage.openUrl("https://www.raneen.com/ar/electronics/televisions-accessories/tv?product_list_order=name");
         Utility.waitForPageToLoad(driver, 10); // Ensure the page is fully loaded
+        log.info("Restoring cached session or logging in...");
+        SessionCache.restoreOrLogin(driver, "", "https://www.raneen.com/ar/electronics/televisions-accessories/tv?product_list_order=name",
+                () -> logInPage.loginThroughPopup("", "")); // UI login only when the cache is cold
         log.info("Adding a product to the wish list...");
-        Thread.sleep(10000);
+        MagentoSync.settle(driver);
         Utility.clickingOnElement(driver, By.xpath("/html/body/div[3]/main/div[6]/div[1]/div[4]/div[2]/ol/li[4]/div/div[2]/div[4]/div/div[2]/a")); //click on wish list icon
         Utility.waitForPageToLoad(driver, 15); // Ensure the page is fully loaded
         log.info("Navigating to wish list dropdown...");
@@ -113,7 +93,7 @@ public class WebWishListTest {
 
         log.info("Starting second test...");
         log.info("open (test) product page...");
-        BasePage.openUrl("https://www.raneen.com/ar/catalog/product/view/id/413176"); //open (Test33) product page
+        webProductPage.openUrl("https://www.raneen.com/ar/catalog/product/view/id/413176"); //open (Test33) product page
         Utility.waitForPageToLoad(driver, 10); // Ensure the page is fully loaded
         log.info("Adding product to wish list...");
         Utility.clickingOnElement(driver, By.xpath("/html/body/div[3]/main/div[3]/div/div[3]/div[2]/div[5]/div")); //click on add to wish list button
@@ -1,6 +1,5 @@
+import DriverFactory.DriverFactory;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -10,15 +9,12 @@ public class EnableProductTest {
 
     @BeforeMethod
     public void setUp() {
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--disable-cache", "--disable-application-cache", "--incognito");
-        driver = new ChromeDriver(options);
-        driver.manage().window().maximize();
+        driver = DriverFactory.leaseDriver("chrome"); // active launch profile; the pool resets cookies and storage
     }
 
     @AfterMethod
     public void tearDown() {
-        driver.quit();
+        DriverFactory.returnDriver(driver);
     }
 
     @Test